@@ -0,0 +1,48 @@
+package pe.edu.upc.center.agecare.nutrition.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntryCommand;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.CreateFoodEntryResource;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.FoodEntryResource;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.transform.CreateFoodEntryCommandFromResourceAssembler;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.transform.FoodEntryResourceFromEntityAssembler;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the REST assemblers on the listing and create paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FoodEntryAssemblerBenchmark {
+
+    @Param({"1", "100"})
+    public int size;
+
+    private List<FoodEntry> foodEntries;
+    private CreateFoodEntryResource createResource;
+
+    @Setup
+    public void setUp() {
+        foodEntries = FoodEntryFixtures.foodEntries(size);
+        createResource = FoodEntryFixtures.createResource(42);
+    }
+
+    @Benchmark
+    public List<FoodEntryResource> toResourcesFromEntities() {
+        return foodEntries.stream()
+                .map(FoodEntryResourceFromEntityAssembler::toResourceFromEntity)
+                .toList();
+    }
+
+    @Benchmark
+    public CreateFoodEntryCommand toCommandFromResource() {
+        return CreateFoodEntryCommandFromResourceAssembler.toCommandFromResource(createResource);
+    }
+}
@@ -0,0 +1,49 @@
+package pe.edu.upc.center.agecare.nutrition.jmh;
+
+import org.springframework.test.util.ReflectionTestUtils;
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntryCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.CreateFoodEntryResource;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Food entries shaped like production rows, as the aggregate would look after being loaded.
+ */
+final class FoodEntryFixtures {
+
+    static final LocalDate FIRST_DAY = LocalDate.of(2023, 1, 1);
+
+    private FoodEntryFixtures() {
+    }
+
+    static FoodEntry foodEntry(int i) {
+        var foodEntry = new FoodEntry(createCommand(i));
+        ReflectionTestUtils.setField(foodEntry, "id", (long) i + 1);
+        ReflectionTestUtils.setField(foodEntry, "createdAt", new Date(1_700_000_000_000L + i * 60_000L));
+        ReflectionTestUtils.setField(foodEntry, "updatedAt", new Date(1_700_000_000_000L + i * 60_000L));
+        return foodEntry;
+    }
+
+    static List<FoodEntry> foodEntries(int size) {
+        return IntStream.range(0, size).mapToObj(FoodEntryFixtures::foodEntry).toList();
+    }
+
+    static CreateFoodEntryCommand createCommand(int i) {
+        var meal = MealType.values()[i % 3];
+        return new CreateFoodEntryCommand(meal, "Oatmeal with banana and a glass of milk, served warm " + i,
+                FIRST_DAY.plusDays(i % 730), LocalTime.of(7 + meal.ordinal() * 5, i % 60),
+                "Caregiver " + i % 200, (long) (i % 200), (long) (i % 5_000));
+    }
+
+    static CreateFoodEntryResource createResource(int i) {
+        var command = createCommand(i);
+        return new CreateFoodEntryResource(command.meal(), command.description(), command.date(), command.time(),
+                command.addedBy(), command.addedById(), command.residentId());
+    }
+}
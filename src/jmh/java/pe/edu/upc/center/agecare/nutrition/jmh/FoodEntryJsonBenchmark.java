@@ -0,0 +1,46 @@
+package pe.edu.upc.center.agecare.nutrition.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.FoodEntryResource;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.transform.FoodEntryResourceFromEntityAssembler;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a listing page the way the JSON message converter does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FoodEntryJsonBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<FoodEntryResource> page;
+
+    @Setup
+    public void setUp() {
+        // Same builder Spring Boot uses for the application ObjectMapper
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(
+                objectMapper.getTypeFactory().constructCollectionType(List.class, FoodEntryResource.class));
+        page = FoodEntryFixtures.foodEntries(size).stream()
+                .map(FoodEntryResourceFromEntityAssembler::toResourceFromEntity)
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,122 @@
+package pe.edu.upc.center.agecare.nutrition.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pe.edu.upc.center.agecare.AgecareCenterPlatformApplication;
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntryCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.DailyNutritionTotals;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryView;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryCriteria;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryCommandService;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories.FoodEntryRepository;
+import pe.edu.upc.center.agecare.nutrition.support.FoodEntrySeeder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FoodEntryRepository queries and the create command against the embedded H2 database (MySQL mode),
+ * seeded with {@code rows} entries spread over 5,000 residents, 200 authors and two years.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FoodEntryRepositoryBenchmark {
+
+    private static final int RESIDENTS = 5_000;
+    private static final int AUTHORS = 200;
+    private static final int DAYS = 730;
+
+    @Param({"200000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private FoodEntryRepository foodEntryRepository;
+    private FoodEntryCommandService foodEntryCommandService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AgecareCenterPlatformApplication.class)
+                .profiles("embedded")
+                .web(WebApplicationType.NONE)
+                // Command-line arguments, so they take precedence over application.properties
+                .run("--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--nutrition.notifications.outbox.poll-interval=3600000");
+        foodEntryRepository = context.getBean(FoodEntryRepository.class);
+        foodEntryCommandService = context.getBean(FoodEntryCommandService.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<FoodEntry> listingPage() {
+        return foodEntryRepository.findByIdGreaterThanOrderByIdAsc(randomId(), Limit.of(50));
+    }
+
+    @Benchmark
+    public List<FoodEntry> residentPage() {
+        return foodEntryRepository.findByResidentIdAndIdGreaterThanOrderByIdAsc(randomResident(), 0L, Limit.of(50));
+    }
+
+    @Benchmark
+    public List<FoodEntry> datePage() {
+        return foodEntryRepository.findByDateAndIdGreaterThanOrderByIdAsc(randomDay(), 0L, Limit.of(50));
+    }
+
+    @Benchmark
+    public List<FoodEntryView> search() {
+        var from = randomDay();
+        var criteria = new FoodEntryCriteria(Set.of(randomResident(), randomResident()), from, from.plusDays(30),
+                Set.of(MealType.BREAKFAST, MealType.DINNER), null);
+        return foodEntryRepository.search(criteria, 0L, Limit.of(50));
+    }
+
+    @Benchmark
+    public Optional<DailyNutritionTotals> dailyNutritionTotals() {
+        return foodEntryRepository.findDailyNutritionTotals(randomResident(), randomDay());
+    }
+
+    @Benchmark
+    public Optional<FoodEntry> create() {
+        int i = ThreadLocalRandom.current().nextInt(rows);
+        var seeded = FoodEntryFixtures.createCommand(i);
+        return foodEntryCommandService.handle(new CreateFoodEntryCommand(seeded.meal(), seeded.description(),
+                seeded.date(), seeded.time(), seeded.addedBy(), seeded.addedById(), seeded.residentId()));
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(rows);
+    }
+
+    private long randomResident() {
+        return ThreadLocalRandom.current().nextLong(RESIDENTS);
+    }
+
+    private LocalDate randomDay() {
+        return FoodEntryFixtures.FIRST_DAY.plusDays(ThreadLocalRandom.current().nextInt(DAYS));
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        FoodEntrySeeder.seed(jdbcTemplate, rows, FoodEntryFixtures::createCommand);
+        // Hibernate's pooled optimizer hands out next_val - 49 .. next_val, so continue right after the seeded ids
+        jdbcTemplate.execute("alter sequence food_entries_seq restart with " + (rows + 50));
+    }
+}
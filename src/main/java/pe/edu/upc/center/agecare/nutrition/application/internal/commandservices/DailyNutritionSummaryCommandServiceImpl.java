@@ -0,0 +1,154 @@
+package pe.edu.upc.center.agecare.nutrition.application.internal.commandservices;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.DailyNutritionSummary;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.RebuildDailyNutritionSummariesCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.RecomputeDailyNutritionSummaryCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.DailyNutritionTotals;
+import pe.edu.upc.center.agecare.nutrition.domain.services.DailyNutritionSummaryCommandService;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories.DailyNutritionSummaryRepository;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories.FoodEntryRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Maintains the daily nutrition summaries by recomputing a (resident, day) key from its food entries.
+ * Recomputing instead of applying deltas keeps every write idempotent; concurrent writers to the same
+ * key are serialized by the summary version and retried.
+ */
+@Service
+public class DailyNutritionSummaryCommandServiceImpl implements DailyNutritionSummaryCommandService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DailyNutritionSummaryCommandServiceImpl.class);
+
+    private final DailyNutritionSummaryRepository dailyNutritionSummaryRepository;
+    private final FoodEntryRepository foodEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final int rebuildChunkSize;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public DailyNutritionSummaryCommandServiceImpl(DailyNutritionSummaryRepository dailyNutritionSummaryRepository,
+                                                   FoodEntryRepository foodEntryRepository,
+                                                   PlatformTransactionManager transactionManager,
+                                                   @Value("${nutrition.summaries.max-attempts}") int maxAttempts,
+                                                   @Value("${nutrition.summaries.rebuild.chunk-size}") int rebuildChunkSize) {
+        this.dailyNutritionSummaryRepository = dailyNutritionSummaryRepository;
+        this.foodEntryRepository = foodEntryRepository;
+        // Always a transaction of its own: recomputes run after the food entry transaction has committed
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAttempts = maxAttempts;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    @Override
+    public void handle(RecomputeDailyNutritionSummaryCommand command) {
+        retrying(() -> transactionTemplate.execute(status -> {
+            var totals = foodEntryRepository.findDailyNutritionTotals(command.residentId(), command.date());
+            var summary = dailyNutritionSummaryRepository.findByResidentIdAndSummaryDate(command.residentId(), command.date());
+            if (totals.isEmpty()) {
+                summary.ifPresent(dailyNutritionSummaryRepository::delete);
+                return null;
+            }
+            return dailyNutritionSummaryRepository.save(summary
+                    .orElseGet(() -> new DailyNutritionSummary(command.residentId(), command.date()))
+                    .updateTotals(totals.get()));
+        }));
+    }
+
+    // Starts the rebuild in the background; returns false when one is already running
+    @Override
+    public boolean handle(RebuildDailyNutritionSummariesCommand command) {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread.ofVirtual().name("daily-nutrition-summary-rebuild").start(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                LOGGER.error("Daily nutrition summary rebuild failed", e);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+        return true;
+    }
+
+    private void rebuild() {
+        long started = System.nanoTime();
+        long chunks = 0;
+        Long lastResidentId = Long.MIN_VALUE;
+        LocalDate lastDate = LocalDate.EPOCH;
+        while (true) {
+            final Long fromResidentId = lastResidentId;
+            final LocalDate fromDate = lastDate;
+            var totals = retrying(() -> transactionTemplate.execute(status -> rebuildChunk(fromResidentId, fromDate)));
+            if (totals == null || totals.isEmpty()) {
+                break;
+            }
+            var last = totals.get(totals.size() - 1);
+            lastResidentId = last.residentId();
+            lastDate = last.date();
+            chunks++;
+        }
+        final Long fromResidentId = lastResidentId;
+        final LocalDate fromDate = lastDate;
+        transactionTemplate.executeWithoutResult(status -> dailyNutritionSummaryRepository.deleteAfter(fromResidentId, fromDate));
+        LOGGER.info("Rebuilt daily nutrition summaries in {} chunks in {} ms", chunks, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Upserts the summaries of the next chunk of keys and drops summaries in that key range left without entries
+    private List<DailyNutritionTotals> rebuildChunk(Long fromResidentId, LocalDate fromDate) {
+        var totals = foodEntryRepository.findDailyNutritionTotalsAfter(fromResidentId, fromDate, Limit.of(rebuildChunkSize));
+        if (totals.isEmpty()) {
+            return totals;
+        }
+        var last = totals.get(totals.size() - 1);
+        Map<String, DailyNutritionSummary> existing = new HashMap<>();
+        dailyNutritionSummaryRepository.findByKeyRange(fromResidentId, fromDate, last.residentId(), last.date())
+                .forEach(summary -> existing.put(key(summary.getResidentId(), summary.getSummaryDate()), summary));
+
+        var summaries = new ArrayList<DailyNutritionSummary>(totals.size());
+        for (var dayTotals : totals) {
+            var summary = existing.remove(key(dayTotals.residentId(), dayTotals.date()));
+            if (summary == null) {
+                summary = new DailyNutritionSummary(dayTotals.residentId(), dayTotals.date());
+            }
+            summaries.add(summary.updateTotals(dayTotals));
+        }
+        dailyNutritionSummaryRepository.saveAll(summaries);
+        dailyNutritionSummaryRepository.deleteAllInBatch(existing.values());
+        return totals;
+    }
+
+    private <T> T retrying(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return work.get();
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static String key(Long residentId, LocalDate date) {
+        return residentId + "/" + date;
+    }
+}
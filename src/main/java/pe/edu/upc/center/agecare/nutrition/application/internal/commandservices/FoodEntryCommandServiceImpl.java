@@ -1,74 +1,142 @@
 package pe.edu.upc.center.agecare.nutrition.application.internal.commandservices;
 
+import jakarta.validation.Validator;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntriesCommand;
 import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntryCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.UpdateFoodEntriesCommand;
 import pe.edu.upc.center.agecare.nutrition.domain.model.commands.UpdateFoodEntryCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryBatchItemResult;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryBatchItemStatus;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
 import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryCommandService;
 import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories.FoodEntryRepository;
-import pe.edu.upc.center.agecare.nutrition.infrastructure.integration.NotificationServiceClient;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class FoodEntryCommandServiceImpl implements FoodEntryCommandService {
     private final FoodEntryRepository foodEntryRepository;
-    private final NotificationServiceClient notificationServiceClient;
+    private final Validator validator;
 
-    public FoodEntryCommandServiceImpl(FoodEntryRepository foodEntryRepository, NotificationServiceClient notificationServiceClient) {
+    public FoodEntryCommandServiceImpl(FoodEntryRepository foodEntryRepository, Validator validator) {
         this.foodEntryRepository = foodEntryRepository;
-        this.notificationServiceClient = notificationServiceClient;
+        this.validator = validator;
     }
 
     @Override
-    public Long handle(CreateFoodEntryCommand command) {
+    @Transactional
+    public Optional<FoodEntry> handle(CreateFoodEntryCommand command) {
         var foodEntry = new FoodEntry(command);
         try {
-            foodEntryRepository.save(foodEntry);
+            // The notification is written to the outbox in this transaction by FoodEntryCreatedEventHandler
+            return Optional.of(foodEntryRepository.save(foodEntry));
         } catch (Exception e) {
             throw new IllegalArgumentException("Error while saving food entry: " + e.getMessage());
         }
+    }
 
-        // Send notification (non-blocking behaviour: don't fail creation if notification fails)
-        try {
-            String message = String.format("New meal recorded: %s - %s on %s %s",
-                    command.meal() != null ? command.meal().name() : "UNKNOWN",
-                    command.description() != null ? command.description() : "",
-                    command.date() != null ? command.date().toString() : "",
-                    command.time() != null ? command.time().toString() : "");
+    // One load and one versioned UPDATE at flush; a concurrent change to the same entry fails the commit
+    @Override
+    @Transactional
+    public Optional<FoodEntry> handle(UpdateFoodEntryCommand command) {
+        return foodEntryRepository.findById(command.foodEntryId())
+                .map(foodEntry -> foodEntryRepository.save(foodEntry.updateInformation(
+                        command.meal(),
+                        command.description(),
+                        command.date(),
+                        command.time()
+                )));
+    }
 
-            // resident id is a Long in Nutrition create command
-            notificationServiceClient.sendNotification(command.residentId(), message);
-        } catch (Exception e) {
-            System.err.println("Failed to send notification for food entry: " + e.getMessage());
+    // Invalid items are reported and skipped; the valid ones are inserted together in JDBC batches
+    @Override
+    @Transactional
+    public List<FoodEntryBatchItemResult> handle(CreateFoodEntriesCommand command) {
+        var results = new ArrayList<FoodEntryBatchItemResult>(command.commands().size());
+        var foodEntries = new ArrayList<FoodEntry>(command.commands().size());
+        for (int index = 0; index < command.commands().size(); index++) {
+            var itemCommand = command.commands().get(index);
+            var error = validate(itemCommand.meal(), itemCommand.description(), itemCommand.date(), itemCommand.time());
+            if (error != null) {
+                results.add(new FoodEntryBatchItemResult(index, FoodEntryBatchItemStatus.INVALID, null, error));
+                continue;
+            }
+            var foodEntry = new FoodEntry(itemCommand);
+            foodEntries.add(foodEntry);
+            results.add(new FoodEntryBatchItemResult(index, FoodEntryBatchItemStatus.CREATED, foodEntry, null));
         }
 
-        return foodEntry.getId();
+        try {
+            foodEntryRepository.saveAll(foodEntries);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Error while saving food entries: " + e.getMessage());
+        }
+        return results;
     }
 
+    // All targets are loaded with one query; the changes are flushed as batched updates on commit
     @Override
-    public Optional<FoodEntry> handle(UpdateFoodEntryCommand command) {
-        var foodEntryId = command.foodEntryId();
+    @Transactional
+    public List<FoodEntryBatchItemResult> handle(UpdateFoodEntriesCommand command) {
+        var foodEntryIds = command.commands().stream()
+                .map(UpdateFoodEntryCommand::foodEntryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, FoodEntry> foodEntriesById = foodEntryRepository.findAllById(foodEntryIds).stream()
+                .collect(Collectors.toMap(FoodEntry::getId, Function.identity()));
 
-        if (!foodEntryRepository.existsById(foodEntryId)) {
-            throw new IllegalArgumentException("Food entry does not exist");
+        var results = new ArrayList<FoodEntryBatchItemResult>(command.commands().size());
+        var foodEntries = new ArrayList<FoodEntry>(command.commands().size());
+        for (int index = 0; index < command.commands().size(); index++) {
+            var itemCommand = command.commands().get(index);
+            var foodEntry = foodEntriesById.get(itemCommand.foodEntryId());
+            if (foodEntry == null) {
+                results.add(new FoodEntryBatchItemResult(index, FoodEntryBatchItemStatus.NOT_FOUND, null,
+                        "Food entry does not exist"));
+                continue;
+            }
+            var error = validate(itemCommand.meal(), itemCommand.description(), itemCommand.date(), itemCommand.time());
+            if (error != null) {
+                results.add(new FoodEntryBatchItemResult(index, FoodEntryBatchItemStatus.INVALID, null, error));
+                continue;
+            }
+            foodEntries.add(foodEntry.updateInformation(
+                    itemCommand.meal(), itemCommand.description(), itemCommand.date(), itemCommand.time()));
+            results.add(new FoodEntryBatchItemResult(index, FoodEntryBatchItemStatus.UPDATED, foodEntry, null));
         }
 
-        var foodEntryToUpdate = foodEntryRepository.findById(foodEntryId).get();
-
         try {
-            var updatedFoodEntry = foodEntryRepository.save(
-                foodEntryToUpdate.updateInformation(
-                    command.meal(),
-                    command.description(),
-                    command.date(),
-                    command.time()
-                )
-            );
-            return Optional.of(updatedFoodEntry);
+            foodEntryRepository.saveAll(foodEntries);
         } catch (Exception e) {
-            throw new IllegalArgumentException("Error while updating food entry: " + e.getMessage());
+            throw new IllegalArgumentException("Error while updating food entries: " + e.getMessage());
         }
+        return results;
     }
 
+    // Checks the values against the FoodEntry constraints before any entity is touched, so a rejected
+    // item never reaches the persistence context
+    private String validate(MealType meal, String description, LocalDate date, LocalTime time) {
+        var violations = Stream.of(
+                        validator.validateValue(FoodEntry.class, "meal", meal),
+                        validator.validateValue(FoodEntry.class, "description", description),
+                        validator.validateValue(FoodEntry.class, "date", date),
+                        validator.validateValue(FoodEntry.class, "time", time))
+                .flatMap(Set::stream)
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+        return violations.isEmpty() ? null : violations;
+    }
 }
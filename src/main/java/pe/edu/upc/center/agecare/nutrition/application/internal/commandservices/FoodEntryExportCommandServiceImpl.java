@@ -0,0 +1,57 @@
+package pe.edu.upc.center.agecare.nutrition.application.internal.commandservices;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.ExportFoodEntriesCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryExportCommandService;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.export.FoodEntryCsvExporter;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class FoodEntryExportCommandServiceImpl implements FoodEntryExportCommandService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FoodEntryExportCommandServiceImpl.class);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS");
+
+    private final FoodEntryCsvExporter foodEntryCsvExporter;
+    private final Clock clock;
+    private final Path directory;
+    private final AtomicBoolean exporting = new AtomicBoolean();
+
+    public FoodEntryExportCommandServiceImpl(FoodEntryCsvExporter foodEntryCsvExporter,
+                                             Clock clock,
+                                             @Value("${nutrition.export.directory}") Path directory) {
+        this.foodEntryCsvExporter = foodEntryCsvExporter;
+        this.clock = clock;
+        this.directory = directory;
+    }
+
+    // Starts the export in the background and returns the file it will write; empty when one is already running
+    @Override
+    public Optional<Path> handle(ExportFoodEntriesCommand command) {
+        if (!exporting.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        var target = directory.resolve("food-entries-%s-%s-%s.csv.gz".formatted(
+                command.from() != null ? command.from() : "start",
+                command.to() != null ? command.to() : "end",
+                LocalDateTime.now(clock).format(FILE_TIMESTAMP)));
+        Thread.ofVirtual().name("food-entry-export").start(() -> {
+            try {
+                foodEntryCsvExporter.export(command, target);
+            } catch (Exception e) {
+                LOGGER.error("Food entry export to {} failed", target, e);
+            } finally {
+                exporting.set(false);
+            }
+        });
+        return Optional.of(target);
+    }
+}
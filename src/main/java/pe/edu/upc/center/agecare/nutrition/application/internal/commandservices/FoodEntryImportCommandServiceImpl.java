@@ -0,0 +1,351 @@
+package pe.edu.upc.center.agecare.nutrition.application.internal.commandservices;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntryCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.ImportFoodEntriesCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.RebuildDailyNutritionSummariesCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.RecomputeDailyNutritionSummaryCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryImportRejection;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryImportResult;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+import pe.edu.upc.center.agecare.nutrition.domain.services.DailyNutritionSummaryCommandService;
+import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryImportCommandService;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.caching.FoodEntryCacheInvalidation;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.caching.FoodEntryQueryCache;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.imports.FoodEntryBatchInserter;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.imports.FoodEntryImportReader;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.imports.FoodEntryImportRecord;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.routing.RecentFoodEntryWrites;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Imports food entries through three stages on their own virtual threads, handing chunks over bounded queues: a
+ * reader parsing the file, a validator turning records into create commands or rejections, and a writer inserting
+ * each chunk with one JDBC batch in its own transaction. Reading and validating the next chunks overlaps with
+ * the database writing the current one, and the queues keep a fast reader from running ahead of the writer.
+ * <p>
+ * Imported entries bypass the domain events, so no notification is sent and no change is streamed. The query
+ * caches are invalidated and the daily summaries brought up to date once the import ends, for the chunks that
+ * were committed; a failure stops the import with the earlier chunks kept.
+ */
+@Service
+public class FoodEntryImportCommandServiceImpl implements FoodEntryImportCommandService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FoodEntryImportCommandServiceImpl.class);
+    private static final String MEAL_TYPES = Arrays.stream(MealType.values()).map(Enum::name).collect(Collectors.joining(", "));
+    // Beyond this many (resident, day) keys the summaries are rebuilt in chunks instead of recomputed one by one
+    private static final int MAX_RECOMPUTED_SUMMARIES = 10_000;
+    private static final int STAGES = 3;
+
+    private final FoodEntryBatchInserter foodEntryBatchInserter;
+    private final DailyNutritionSummaryCommandService dailyNutritionSummaryCommandService;
+    private final FoodEntryQueryCache foodEntryQueryCache;
+    private final RecentFoodEntryWrites recentFoodEntryWrites;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int queueCapacity;
+    private final long progressInterval;
+    private final int maxReportedRejections;
+    private final AtomicBoolean importing = new AtomicBoolean();
+
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+    private final Timer imports;
+
+    public FoodEntryImportCommandServiceImpl(FoodEntryBatchInserter foodEntryBatchInserter,
+                                             DailyNutritionSummaryCommandService dailyNutritionSummaryCommandService,
+                                             FoodEntryQueryCache foodEntryQueryCache,
+                                             RecentFoodEntryWrites recentFoodEntryWrites,
+                                             Validator validator,
+                                             ObjectMapper objectMapper,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${nutrition.import.chunk-size}") int chunkSize,
+                                             @Value("${nutrition.import.queue-capacity}") int queueCapacity,
+                                             @Value("${nutrition.import.progress-interval}") long progressInterval,
+                                             @Value("${nutrition.import.max-reported-rejections}") int maxReportedRejections) {
+        this.foodEntryBatchInserter = foodEntryBatchInserter;
+        this.dailyNutritionSummaryCommandService = dailyNutritionSummaryCommandService;
+        this.foodEntryQueryCache = foodEntryQueryCache;
+        this.recentFoodEntryWrites = recentFoodEntryWrites;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.progressInterval = progressInterval;
+        this.maxReportedRejections = maxReportedRejections;
+
+        this.importedRows = Counter.builder("nutrition.import.rows").tag("result", "imported")
+                .description("Food entry rows read from import files")
+                .register(meterRegistry);
+        this.rejectedRows = Counter.builder("nutrition.import.rows").tag("result", "rejected")
+                .description("Food entry rows read from import files")
+                .register(meterRegistry);
+        this.imports = Timer.builder("nutrition.import.duration")
+                .description("Time to import a food entry file")
+                .register(meterRegistry);
+    }
+
+    // Imports while the caller waits; empty when an import is already running
+    @Override
+    public Optional<FoodEntryImportResult> handle(ImportFoodEntriesCommand command) {
+        if (!importing.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(importFoodEntries(command));
+        } finally {
+            importing.set(false);
+        }
+    }
+
+    private FoodEntryImportResult importFoodEntries(ImportFoodEntriesCommand command) {
+        FoodEntryImportReader reader;
+        try {
+            reader = FoodEntryImportReader.open(command.format(), command.content(), objectMapper);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        var run = new ImportRun();
+        BlockingQueue<List<FoodEntryImportRecord>> records = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<List<CreateFoodEntryCommand>> commands = new ArrayBlockingQueue<>(queueCapacity);
+
+        // A failed stage interrupts the others, so none stays blocked on a queue nobody serves any more
+        Throwable failure = null;
+        var executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("food-entry-import-", 0).factory());
+        try {
+            var stages = new ExecutorCompletionService<Void>(executor);
+            stages.submit(() -> read(reader, records));
+            stages.submit(() -> validate(records, commands, run));
+            stages.submit(() -> write(commands, run));
+            for (int i = 0; i < STAGES; i++) {
+                stages.take().get();
+            }
+        } catch (ExecutionException e) {
+            failure = e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        } finally {
+            executor.shutdownNow();
+            executor.close();
+            afterImport(run);
+        }
+
+        long elapsed = System.nanoTime() - run.started;
+        imports.record(elapsed, TimeUnit.NANOSECONDS);
+        if (failure != null) {
+            LOGGER.error("Food entry import failed after {} rows were imported", run.imported, failure);
+            throw new IllegalStateException("Food entry import failed after " + run.imported + " rows were imported: "
+                    + failure.getMessage(), failure);
+        }
+        LOGGER.atInfo().setMessage("Food entries imported")
+                .addKeyValue("read", run.read)
+                .addKeyValue("imported", run.imported)
+                .addKeyValue("rejected", run.rejected)
+                .addKeyValue("rowsPerSecond", rowsPerSecond(run.read, elapsed))
+                .log();
+        return new FoodEntryImportResult(run.read, run.imported, run.rejected, List.copyOf(run.rejections));
+    }
+
+    // An empty chunk marks the end of the input on both queues
+    private Void read(FoodEntryImportReader reader, BlockingQueue<List<FoodEntryImportRecord>> records)
+            throws IOException, InterruptedException {
+        var chunk = new ArrayList<FoodEntryImportRecord>(chunkSize);
+        for (var record = reader.next(); record != null; record = reader.next()) {
+            chunk.add(record);
+            if (chunk.size() == chunkSize) {
+                records.put(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            records.put(chunk);
+        }
+        records.put(List.of());
+        return null;
+    }
+
+    private Void validate(BlockingQueue<List<FoodEntryImportRecord>> records,
+                          BlockingQueue<List<CreateFoodEntryCommand>> commands,
+                          ImportRun run) throws InterruptedException {
+        for (var chunk = records.take(); !chunk.isEmpty(); chunk = records.take()) {
+            var valid = new ArrayList<CreateFoodEntryCommand>(chunk.size());
+            for (var record : chunk) {
+                run.read++;
+                var error = record.error();
+                if (error == null) {
+                    try {
+                        var command = toCommand(record);
+                        error = validate(command);
+                        if (error == null) {
+                            valid.add(command);
+                        }
+                    } catch (IllegalArgumentException e) {
+                        error = e.getMessage();
+                    }
+                }
+                if (error != null) {
+                    reject(run, record.line(), error);
+                }
+            }
+            if (!valid.isEmpty()) {
+                commands.put(valid);
+            }
+        }
+        commands.put(List.of());
+        return null;
+    }
+
+    private Void write(BlockingQueue<List<CreateFoodEntryCommand>> commands, ImportRun run) throws InterruptedException {
+        for (var chunk = commands.take(); !chunk.isEmpty(); chunk = commands.take()) {
+            foodEntryBatchInserter.insert(chunk);
+            long before = run.imported;
+            run.imported += chunk.size();
+            importedRows.increment(chunk.size());
+            chunk.forEach(run::written);
+            if (run.imported / progressInterval > before / progressInterval) {
+                LOGGER.atInfo().setMessage("Food entry import in progress")
+                        .addKeyValue("imported", run.imported)
+                        .addKeyValue("rowsPerSecond", rowsPerSecond(run.imported, System.nanoTime() - run.started))
+                        .log();
+            }
+        }
+        return null;
+    }
+
+    private CreateFoodEntryCommand toCommand(FoodEntryImportRecord record) {
+        return new CreateFoodEntryCommand(
+                parse(record.meal(), value -> MealType.valueOf(value.toUpperCase(Locale.ROOT)), "meal must be one of " + MEAL_TYPES),
+                record.description(),
+                parse(record.date(), LocalDate::parse, "date must be an ISO date such as 2024-05-31"),
+                parse(record.time(), LocalTime::parse, "time must be HH:mm or HH:mm:ss"),
+                record.addedBy() != null && !record.addedBy().isBlank() ? record.addedBy() : null,
+                parse(record.addedById(), Long::valueOf, "addedById must be a whole number"),
+                parse(record.residentId(), Long::valueOf, "residentId must be a whole number"));
+    }
+
+    // Blank is missing, left to the constraints; anything else must parse
+    private static <T> T parse(String value, Function<String, T> parser, String error) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    // The same FoodEntry constraints the create endpoints check
+    private String validate(CreateFoodEntryCommand command) {
+        var violations = Stream.of(
+                        validator.validateValue(FoodEntry.class, "meal", command.meal()),
+                        validator.validateValue(FoodEntry.class, "description", command.description()),
+                        validator.validateValue(FoodEntry.class, "date", command.date()),
+                        validator.validateValue(FoodEntry.class, "time", command.time()))
+                .flatMap(Set::stream)
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+        return violations.isEmpty() ? null : violations;
+    }
+
+    private void reject(ImportRun run, long line, String reason) {
+        run.rejected++;
+        rejectedRows.increment();
+        if (run.rejections.size() < maxReportedRejections) {
+            run.rejections.add(new FoodEntryImportRejection(line, reason));
+        }
+    }
+
+    // What the domain events would have done for each entry, once for the whole import
+    private void afterImport(ImportRun run) {
+        if (run.imported == 0) {
+            return;
+        }
+        // Dates and meals are evicted once; each resident then only drops its own pages
+        var datesAndMeals = new FoodEntryCacheInvalidation(null, null, Set.copyOf(run.dates), Set.copyOf(run.meals));
+        recentFoodEntryWrites.record(datesAndMeals);
+        foodEntryQueryCache.invalidate(datesAndMeals);
+        for (var residentId : run.residentIds) {
+            var invalidation = new FoodEntryCacheInvalidation(null, residentId, Set.of(), Set.of());
+            recentFoodEntryWrites.record(invalidation);
+            foodEntryQueryCache.invalidate(invalidation);
+        }
+
+        if (run.summaries != null) {
+            Thread.ofVirtual().name("food-entry-import-summaries").start(() -> run.summaries.forEach(summary -> {
+                try {
+                    dailyNutritionSummaryCommandService.handle(summary);
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Could not recompute daily nutrition summary: {}", e.getMessage());
+                }
+            }));
+        } else if (!dailyNutritionSummaryCommandService.handle(new RebuildDailyNutritionSummariesCommand())) {
+            LOGGER.warn("A daily nutrition summary rebuild was already running during the import; rebuild again "
+                    + "to include the imported food entries");
+        }
+    }
+
+    private static long rowsPerSecond(long rows, long elapsedNanos) {
+        return elapsedNanos > 0 ? rows * 1_000_000_000L / elapsedNanos : rows;
+    }
+
+    // Each count has a single writing stage; the final values are read after every stage has finished
+    private static final class ImportRun {
+        private final long started = System.nanoTime();
+        private final List<FoodEntryImportRejection> rejections = new ArrayList<>();
+        private final Set<Long> residentIds = new HashSet<>();
+        private final Set<LocalDate> dates = new HashSet<>();
+        private final Set<MealType> meals = EnumSet.noneOf(MealType.class);
+        private Set<RecomputeDailyNutritionSummaryCommand> summaries = new HashSet<>();
+        private long read;
+        private long imported;
+        private long rejected;
+
+        private void written(CreateFoodEntryCommand command) {
+            dates.add(command.date());
+            meals.add(command.meal());
+            if (command.residentId() == null) {
+                return;
+            }
+            residentIds.add(command.residentId());
+            if (summaries != null) {
+                summaries.add(new RecomputeDailyNutritionSummaryCommand(command.residentId(), command.date()));
+                if (summaries.size() > MAX_RECOMPUTED_SUMMARIES) {
+                    summaries = null;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package pe.edu.upc.center.agecare.nutrition.application.internal.commandservices;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.DetectMissedMealsCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.entities.MissedMealDetectionRun;
+import pe.edu.upc.center.agecare.nutrition.domain.model.entities.MissedMealDetectionShard;
+import pe.edu.upc.center.agecare.nutrition.domain.model.entities.NotificationOutboxMessage;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+import pe.edu.upc.center.agecare.nutrition.domain.services.MissedMealDetectionCommandService;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories.FoodEntryRepository;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories.MissedMealDetectionRunRepository;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories.MissedMealDetectionShardRepository;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories.NotificationOutboxMessageRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Finds the residents without an entry for a meal on a day and raises an alert for each one.
+ * The distinct active resident ids are read in keyset chunks of up to shard-size ids; each chunk is a shard, one
+ * set-based query over its range of food_entries and one batched insert of alerts into the notification outbox,
+ * run on a bounded worker pool. A shard is claimed, with its id range, in the same transaction as its alerts, so
+ * a shard that fails is retried by the next detection, on any replica, and the ranges already claimed are never
+ * alerted again. The run is recorded once every active resident is covered by a claim.
+ */
+@Service
+public class MissedMealDetectionCommandServiceImpl implements MissedMealDetectionCommandService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MissedMealDetectionCommandServiceImpl.class);
+
+    private final FoodEntryRepository foodEntryRepository;
+    private final MissedMealDetectionRunRepository missedMealDetectionRunRepository;
+    private final MissedMealDetectionShardRepository missedMealDetectionShardRepository;
+    private final NotificationOutboxMessageRepository notificationOutboxMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService workers;
+
+    private final int shardSize;
+    private final Duration lookback;
+
+    public MissedMealDetectionCommandServiceImpl(FoodEntryRepository foodEntryRepository,
+                                                 MissedMealDetectionRunRepository missedMealDetectionRunRepository,
+                                                 MissedMealDetectionShardRepository missedMealDetectionShardRepository,
+                                                 NotificationOutboxMessageRepository notificationOutboxMessageRepository,
+                                                 PlatformTransactionManager transactionManager,
+                                                 MeterRegistry meterRegistry,
+                                                 @Value("${nutrition.missed-meals.shard-size}") int shardSize,
+                                                 @Value("${nutrition.missed-meals.workers}") int workers,
+                                                 @Value("${nutrition.missed-meals.lookback}") Duration lookback,
+                                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.foodEntryRepository = foodEntryRepository;
+        this.missedMealDetectionRunRepository = missedMealDetectionRunRepository;
+        this.missedMealDetectionShardRepository = missedMealDetectionShardRepository;
+        this.notificationOutboxMessageRepository = notificationOutboxMessageRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        // The pool size still bounds how many shards query the database at once
+        var threads = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform();
+        this.workers = Executors.newFixedThreadPool(workers, threads.name("missed-meal-detection-", 0).factory());
+        this.shardSize = shardSize;
+        this.lookback = lookback;
+    }
+
+    // Returns empty when the day and meal were already handled, or another replica still holds some of its shards
+    // and records the run when it finishes them. Throws when a shard failed; the next detection retries it
+    @Override
+    public Optional<MissedMealDetectionRun> handle(DetectMissedMealsCommand command) {
+        if (missedMealDetectionRunRepository.existsByDetectionDateAndMeal(command.date(), command.meal())) {
+            return Optional.empty();
+        }
+        var sample = Timer.start(meterRegistry);
+        var since = command.date().minusDays(lookback.toDays());
+        // A retry skips the ranges claimed before and shards only the residents left between them
+        var claimedBefore = missedMealDetectionShardRepository.findByDetectionDateAndMealOrderByFirstResidentIdAsc(
+                command.date(), command.meal());
+        List<CompletableFuture<Integer>> shardAlerts = new ArrayList<>();
+        int nextClaim = 0;
+        long after = Long.MIN_VALUE;
+        while (true) {
+            var residentIds = foodEntryRepository.findActiveResidentIdsAfter(since, command.date(), after, Limit.of(shardSize));
+            if (residentIds.isEmpty()) {
+                break;
+            }
+            while (nextClaim < claimedBefore.size() && claimedBefore.get(nextClaim).getLastResidentId() < residentIds.get(0)) {
+                nextClaim++;
+            }
+            var claim = nextClaim < claimedBefore.size() ? claimedBefore.get(nextClaim) : null;
+            if (claim != null && claim.getFirstResidentId() <= residentIds.get(0)) {
+                after = claim.getLastResidentId();
+                continue;
+            }
+            // The shard ends before the next claimed range
+            var shard = claim == null ? residentIds : residentIds.stream()
+                    .takeWhile(residentId -> residentId < claim.getFirstResidentId())
+                    .toList();
+            long firstResidentId = shard.get(0);
+            long lastResidentId = shard.get(shard.size() - 1);
+            shardAlerts.add(CompletableFuture.supplyAsync(() -> detectShard(
+                    firstResidentId, lastResidentId, since, command.date(), command.meal()), workers));
+            after = lastResidentId;
+        }
+        // Waits for every shard, so none is still running when a failure is thrown. A shard claimed by another
+        // replica waits on its key until that claim commits, so once this returns every shard is claimed
+        CompletableFuture.allOf(shardAlerts.toArray(CompletableFuture[]::new)).join();
+
+        var claimed = missedMealDetectionShardRepository.findByDetectionDateAndMealOrderByFirstResidentIdAsc(
+                command.date(), command.meal());
+        int alerts = claimed.stream().mapToInt(MissedMealDetectionShard::getAlertCount).sum();
+        MissedMealDetectionRun run;
+        try {
+            run = transactionTemplate.execute(status -> missedMealDetectionRunRepository.saveAndFlush(
+                    new MissedMealDetectionRun(command.date(), command.meal()).complete(alerts)));
+        } catch (DataIntegrityViolationException e) {
+            return Optional.empty();
+        }
+        long elapsed = sample.stop(meterRegistry.timer("nutrition.missed.meals.detection", "meal", command.meal().name()));
+
+        LOGGER.info("Missed {} detection for {}: {} alerts in {} ms", command.meal(), command.date(), alerts, elapsed / 1_000_000);
+        return Optional.ofNullable(run);
+    }
+
+    private int detectShard(long firstResidentId, long lastResidentId, LocalDate since, LocalDate date, MealType meal) {
+        var sample = Timer.start(meterRegistry);
+        Integer alerts;
+        try {
+            alerts = transactionTemplate.execute(status -> {
+                // Flushed first: a replica working on the same shard holds its key until it commits or rolls back
+                var claim = missedMealDetectionShardRepository.saveAndFlush(
+                        new MissedMealDetectionShard(date, meal, firstResidentId, lastResidentId));
+                var residentIds = foodEntryRepository.findResidentIdsWithoutMeal(
+                        since, date, meal, firstResidentId, lastResidentId);
+                var messages = residentIds.stream()
+                        .map(residentId -> new NotificationOutboxMessage(residentId, String.format(
+                                "Missed meal: no %s recorded on %s", meal.name(), date)))
+                        .toList();
+                notificationOutboxMessageRepository.saveAll(messages);
+                claim.complete(messages.size());
+                return messages.size();
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Already claimed, with its alerts, by an earlier detection
+            return 0;
+        }
+        sample.stop(meterRegistry.timer("nutrition.missed.meals.detection.shard", "meal", meal.name()));
+        Counter.builder("nutrition.missed.meals.alerts").tag("meal", meal.name()).register(meterRegistry).increment(alerts);
+        return alerts;
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,173 @@
+package pe.edu.upc.center.agecare.nutrition.application.internal.eventhandlers;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.RecomputeDailyNutritionSummaryCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.events.FoodEntryCreatedEvent;
+import pe.edu.upc.center.agecare.nutrition.domain.model.events.FoodEntryUpdatedEvent;
+import pe.edu.upc.center.agecare.nutrition.domain.services.DailyNutritionSummaryCommandService;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recomputes the daily nutrition summaries touched by a transaction once it has committed.
+ * The (resident, day) keys are collected per transaction and handed to a few background workers,
+ * so the request never holds its connection while waiting for a second one, and a key that changes
+ * again before it is recomputed is only recomputed once. A key stays claimed until its recompute has
+ * finished, so no two workers write the same summary; a change committed meanwhile marks it to run again.
+ * The queue is drained on shutdown; keys still queued when the shutdown timeout runs out are logged and
+ * need a rebuild.
+ */
+@Service
+public class DailyNutritionSummaryEventHandler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DailyNutritionSummaryEventHandler.class);
+
+    private final DailyNutritionSummaryCommandService dailyNutritionSummaryCommandService;
+    private final Map<RecomputeDailyNutritionSummaryCommand, KeyState> claimed = new ConcurrentHashMap<>();
+    private final BlockingQueue<RecomputeDailyNutritionSummaryCommand> queue = new LinkedBlockingQueue<>();
+    private final int workerCount;
+    private final boolean virtualThreads;
+    private final Duration shutdownTimeout;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public DailyNutritionSummaryEventHandler(DailyNutritionSummaryCommandService dailyNutritionSummaryCommandService,
+                                             @Value("${nutrition.summaries.recompute-workers}") int workerCount,
+                                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                             @Value("${nutrition.summaries.shutdown-timeout}") Duration shutdownTimeout) {
+        this.dailyNutritionSummaryCommandService = dailyNutritionSummaryCommandService;
+        this.workerCount = workerCount;
+        this.virtualThreads = virtualThreads;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            var thread = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+            workers.add(thread.name("daily-nutrition-summary-" + i).start(this::recompute));
+        }
+    }
+
+    // Lets the workers finish what is queued, then leaves whatever the timeout cut off to a rebuild
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (var worker : workers) {
+            TimeUnit.NANOSECONDS.timedJoin(worker, Math.max(1, deadline - System.nanoTime()));
+        }
+        if (!claimed.isEmpty()) {
+            LOGGER.warn("Stopped with {} daily nutrition summaries not recomputed; POST "
+                    + "/api/v1/daily-nutrition-summaries/rebuild to reconcile them", claimed.size());
+        }
+    }
+
+    @EventListener
+    public void on(FoodEntryCreatedEvent event) {
+        var foodEntry = event.foodEntry();
+        recomputeAfterCommit(foodEntry.getResidentId(), foodEntry.getDate());
+    }
+
+    // An update can move the entry to another day, so the previous day is recomputed too
+    @EventListener
+    public void on(FoodEntryUpdatedEvent event) {
+        var foodEntry = event.foodEntry();
+        recomputeAfterCommit(foodEntry.getResidentId(), foodEntry.getDate());
+        recomputeAfterCommit(foodEntry.getResidentId(), event.previousDate());
+    }
+
+    private void recomputeAfterCommit(Long residentId, LocalDate date) {
+        if (residentId == null || date == null) {
+            return;
+        }
+        var command = new RecomputeDailyNutritionSummaryCommand(residentId, date);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(command);
+            return;
+        }
+        pendingCommands().add(command);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<RecomputeDailyNutritionSummaryCommand> pendingCommands() {
+        var pending = (Set<RecomputeDailyNutritionSummaryCommand>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        var commands = new LinkedHashSet<RecomputeDailyNutritionSummaryCommand>();
+        TransactionSynchronizationManager.bindResource(this, commands);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(DailyNutritionSummaryEventHandler.this);
+                if (status == STATUS_COMMITTED) {
+                    commands.forEach(DailyNutritionSummaryEventHandler.this::enqueue);
+                }
+            }
+        });
+        return commands;
+    }
+
+    private void enqueue(RecomputeDailyNutritionSummaryCommand command) {
+        claimed.compute(command, (key, state) -> {
+            if (state == null) {
+                queue.add(key);
+                return KeyState.QUEUED;
+            }
+            return state == KeyState.QUEUED ? KeyState.QUEUED : KeyState.DIRTY;
+        });
+    }
+
+    private void recompute() {
+        while (running || !queue.isEmpty()) {
+            RecomputeDailyNutritionSummaryCommand command;
+            try {
+                command = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (command == null) {
+                continue;
+            }
+            claimed.put(command, KeyState.RUNNING);
+            try {
+                dailyNutritionSummaryCommandService.handle(command);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not recompute daily nutrition summary: {}", e.getMessage());
+            }
+            // Released only now; a change committed while it ran queues the key once more
+            claimed.compute(command, (key, state) -> {
+                if (state == KeyState.DIRTY) {
+                    queue.add(key);
+                    return KeyState.QUEUED;
+                }
+                return null;
+            });
+        }
+    }
+
+    private enum KeyState {
+        QUEUED, RUNNING, DIRTY
+    }
+}
@@ -0,0 +1,29 @@
+package pe.edu.upc.center.agecare.nutrition.application.internal.eventhandlers;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pe.edu.upc.center.agecare.nutrition.domain.model.events.FoodEntryCreatedEvent;
+import pe.edu.upc.center.agecare.nutrition.domain.model.events.FoodEntryUpdatedEvent;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.streaming.FoodEntryChangeStream;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.streaming.FoodEntryChangeType;
+
+// Publishes after commit, so subscribers never see a change that was rolled back
+@Service
+public class FoodEntryChangeStreamEventHandler {
+    private final FoodEntryChangeStream foodEntryChangeStream;
+
+    public FoodEntryChangeStreamEventHandler(FoodEntryChangeStream foodEntryChangeStream) {
+        this.foodEntryChangeStream = foodEntryChangeStream;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void on(FoodEntryCreatedEvent event) {
+        foodEntryChangeStream.publish(FoodEntryChangeType.CREATED, event.foodEntry(), null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void on(FoodEntryUpdatedEvent event) {
+        foodEntryChangeStream.publish(FoodEntryChangeType.UPDATED, event.foodEntry(), event.previousDate());
+    }
+}
@@ -0,0 +1,31 @@
+package pe.edu.upc.center.agecare.nutrition.application.internal.eventhandlers;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pe.edu.upc.center.agecare.nutrition.domain.model.entities.NotificationOutboxMessage;
+import pe.edu.upc.center.agecare.nutrition.domain.model.events.FoodEntryCreatedEvent;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories.NotificationOutboxMessageRepository;
+
+@Service
+public class FoodEntryCreatedEventHandler {
+    private final NotificationOutboxMessageRepository notificationOutboxMessageRepository;
+
+    public FoodEntryCreatedEventHandler(NotificationOutboxMessageRepository notificationOutboxMessageRepository) {
+        this.notificationOutboxMessageRepository = notificationOutboxMessageRepository;
+    }
+
+    // Writes the notification to the outbox inside the food entry's transaction; NotificationOutboxRelay delivers it
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void on(FoodEntryCreatedEvent event) {
+        var foodEntry = event.foodEntry();
+        String message = String.format("New meal recorded: %s - %s on %s %s",
+                foodEntry.getMeal() != null ? foodEntry.getMeal().name() : "UNKNOWN",
+                foodEntry.getDescription() != null ? foodEntry.getDescription() : "",
+                foodEntry.getDate() != null ? foodEntry.getDate() : "",
+                foodEntry.getTime() != null ? foodEntry.getTime() : "");
+
+        // resident id is a Long in Nutrition create command
+        notificationOutboxMessageRepository.save(new NotificationOutboxMessage(foodEntry.getResidentId(), message));
+    }
+}
@@ -0,0 +1,54 @@
+package pe.edu.upc.center.agecare.nutrition.application.internal.eventhandlers;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pe.edu.upc.center.agecare.nutrition.domain.model.events.FoodEntryCreatedEvent;
+import pe.edu.upc.center.agecare.nutrition.domain.model.events.FoodEntryUpdatedEvent;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.caching.FoodEntryCacheInvalidation;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.caching.FoodEntryQueryCache;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.routing.RecentFoodEntryWrites;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class FoodEntryQueryCacheEventHandler {
+    private final FoodEntryQueryCache foodEntryQueryCache;
+    private final RecentFoodEntryWrites recentFoodEntryWrites;
+
+    public FoodEntryQueryCacheEventHandler(FoodEntryQueryCache foodEntryQueryCache,
+                                           RecentFoodEntryWrites recentFoodEntryWrites) {
+        this.foodEntryQueryCache = foodEntryQueryCache;
+        this.recentFoodEntryWrites = recentFoodEntryWrites;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void on(FoodEntryCreatedEvent event) {
+        var foodEntry = event.foodEntry();
+        invalidate(new FoodEntryCacheInvalidation(foodEntry.getId(), foodEntry.getResidentId(),
+                Set.of(foodEntry.getDate()), Set.of(foodEntry.getMeal())));
+    }
+
+    // An update can move the entry to another day or meal, so both the previous and the new ones are invalidated
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void on(FoodEntryUpdatedEvent event) {
+        var foodEntry = event.foodEntry();
+        var dates = Stream.of(foodEntry.getDate(), event.previousDate())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        var meals = Stream.of(foodEntry.getMeal(), event.previousMeal())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        invalidate(new FoodEntryCacheInvalidation(foodEntry.getId(), foodEntry.getResidentId(), dates, meals));
+    }
+
+    // The write is recorded before the eviction, so a reader that misses the cache reloads from the primary
+    // rather than caching a replica that has not caught up yet
+    private void invalidate(FoodEntryCacheInvalidation invalidation) {
+        recentFoodEntryWrites.record(invalidation);
+        foodEntryQueryCache.invalidate(invalidation);
+    }
+}
@@ -0,0 +1,41 @@
+package pe.edu.upc.center.agecare.nutrition.application.internal.queryservices;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.DailyNutritionSummary;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetDailyNutritionSummariesByDateQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetDailyNutritionSummariesByResidentIdQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetDailyNutritionSummaryByResidentIdAndDateQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.services.DailyNutritionSummaryQueryService;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories.DailyNutritionSummaryRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class DailyNutritionSummaryQueryServiceImpl implements DailyNutritionSummaryQueryService {
+    private final DailyNutritionSummaryRepository dailyNutritionSummaryRepository;
+
+    public DailyNutritionSummaryQueryServiceImpl(DailyNutritionSummaryRepository dailyNutritionSummaryRepository) {
+        this.dailyNutritionSummaryRepository = dailyNutritionSummaryRepository;
+    }
+
+    @Override
+    public Optional<DailyNutritionSummary> handle(GetDailyNutritionSummaryByResidentIdAndDateQuery query) {
+        return dailyNutritionSummaryRepository.findByResidentIdAndSummaryDate(query.residentId(), query.date());
+    }
+
+    @Override
+    public List<DailyNutritionSummary> handle(GetDailyNutritionSummariesByResidentIdQuery query) {
+        return dailyNutritionSummaryRepository.findByResidentIdAndSummaryDateBetweenOrderBySummaryDateAsc(
+                query.residentId(), query.from(), query.to());
+    }
+
+    @Override
+    public List<DailyNutritionSummary> handle(GetDailyNutritionSummariesByDateQuery query) {
+        return dailyNutritionSummaryRepository.findBySummaryDateAndIdGreaterThanOrderByIdAsc(
+                query.date(),
+                query.after() != null ? query.after() : 0L,
+                query.limit() != null ? Limit.of(query.limit()) : Limit.unlimited());
+    }
+}
@@ -1,44 +1,164 @@
 package pe.edu.upc.center.agecare.nutrition.application.internal.queryservices;
 
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryPageVersion;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryVersion;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryView;
 import pe.edu.upc.center.agecare.nutrition.domain.model.queries.*;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryCriteria;
 import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryQueryService;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.caching.FoodEntryQueryCache;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.caching.FoodEntryQueryCoalescer;
 import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories.FoodEntryRepository;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.routing.RecentFoodEntryWrites;
+import pe.edu.upc.center.agecare.shared.infrastructure.persistence.jdbc.ReadRouting;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+/**
+ * Serves food entry reads from a replica when one is configured. Reads about a resident, day or entry written
+ * within the read-your-writes window go to the primary instead; other listings across residents always use a
+ * replica.
+ * Connections are fetched at the first statement, so a cache hit never borrows one.
+ */
 @Service
+@Transactional(readOnly = true)
 public class FoodEntryQueryServiceImpl implements FoodEntryQueryService {
     private final FoodEntryRepository foodEntryRepository;
+    private final FoodEntryQueryCache foodEntryQueryCache;
+    private final FoodEntryQueryCoalescer foodEntryQueryCoalescer;
+    private final EntityManager entityManager;
+    private final RecentFoodEntryWrites recentFoodEntryWrites;
 
-    public FoodEntryQueryServiceImpl(FoodEntryRepository foodEntryRepository) {
+    public FoodEntryQueryServiceImpl(FoodEntryRepository foodEntryRepository,
+                                     FoodEntryQueryCache foodEntryQueryCache,
+                                     FoodEntryQueryCoalescer foodEntryQueryCoalescer,
+                                     EntityManager entityManager,
+                                     RecentFoodEntryWrites recentFoodEntryWrites) {
         this.foodEntryRepository = foodEntryRepository;
+        this.foodEntryQueryCache = foodEntryQueryCache;
+        this.foodEntryQueryCoalescer = foodEntryQueryCoalescer;
+        this.entityManager = entityManager;
+        this.recentFoodEntryWrites = recentFoodEntryWrites;
     }
 
     @Override
     public List<FoodEntry> handle(GetAllFoodEntriesQuery query) {
-        return foodEntryRepository.findAll();
+        return ReadRouting.replica(() ->
+                foodEntryRepository.findByIdGreaterThanOrderByIdAsc(after(query.after()), limit(query.limit())));
     }
 
     @Override
-    public Optional<FoodEntry> handle(GetFoodEntryByIdQuery query) {
-        return foodEntryRepository.findById(query.foodEntryId());
+    public void handle(GetAllFoodEntriesQuery query, Consumer<FoodEntry> consumer) {
+        ReadRouting.replica(() -> {
+            try (var foodEntries = foodEntryRepository.streamByIdGreaterThanOrderByIdAsc(after(query.after()))) {
+                var limited = query.limit() != null ? foodEntries.limit(query.limit()) : foodEntries;
+                // Detach each row once consumed so the persistence context does not grow with the table
+                limited.forEach(foodEntry -> {
+                    consumer.accept(foodEntry);
+                    entityManager.detach(foodEntry);
+                });
+            }
+        });
     }
 
+    // Cached and shared reads hand out views, so no caller holds an entity another thread also holds
     @Override
-    public List<FoodEntry> handle(GetFoodEntriesByResidentIdQuery query) {
-        return foodEntryRepository.findByResidentId(query.residentId());
+    public Optional<FoodEntryView> handle(GetFoodEntryByIdQuery query) {
+        return foodEntryQueryCache.get(query, key -> read(recentFoodEntryWrites.ofFoodEntry(key.foodEntryId()),
+                () -> foodEntryRepository.findById(key.foodEntryId()).map(FoodEntryView::of)));
     }
 
     @Override
-    public List<FoodEntry> handle(GetFoodEntriesByDateQuery query) {
-        return foodEntryRepository.findByDate(query.date());
+    public List<FoodEntryView> handle(GetFoodEntriesByResidentIdQuery query) {
+        return foodEntryQueryCache.get(query, key -> read(recentFoodEntryWrites.ofResident(key.residentId()),
+                () -> views(foodEntryRepository.findByResidentIdAndIdGreaterThanOrderByIdAsc(
+                        key.residentId(), after(key.after()), limit(key.limit())))));
     }
 
     @Override
-    public List<FoodEntry> handle(GetFoodEntriesByMealTypeQuery query) {
-        return foodEntryRepository.findByMeal(query.mealType());
+    public List<FoodEntryView> handle(GetFoodEntriesByDateQuery query) {
+        return foodEntryQueryCache.get(query, key -> read(recentFoodEntryWrites.ofDate(key.date()),
+                () -> views(foodEntryRepository.findByDateAndIdGreaterThanOrderByIdAsc(key.date(), after(key.after()), limit(key.limit())))));
+    }
+
+    @Override
+    public List<FoodEntryView> handle(GetFoodEntriesByMealTypeQuery query) {
+        return foodEntryQueryCoalescer.execute(query, () -> ReadRouting.replica(() ->
+                views(foodEntryRepository.findByMealAndIdGreaterThanOrderByIdAsc(query.mealType(), after(query.after()), limit(query.limit())))));
+    }
+
+    @Override
+    public List<FoodEntryView> handle(SearchFoodEntriesQuery query) {
+        return ReadRouting.replica(() -> foodEntryRepository.search(query.criteria(), query.after(), limit(query.limit())));
+    }
+
+    @Override
+    public List<FoodEntryView> handle(SearchFoodEntryDescriptionsQuery query) {
+        return ReadRouting.replica(() -> foodEntryRepository.searchDescriptions(
+                query.text(), query.criteria(), query.offset() != null ? query.offset() : 0, limit(query.limit())));
+    }
+
+    // Versions answer conditional requests, so a cached entry or page is used as is and no entity is loaded otherwise
+    @Override
+    public Optional<FoodEntryVersion> handle(GetFoodEntryVersionQuery query) {
+        var cached = foodEntryQueryCache.peek(new GetFoodEntryByIdQuery(query.foodEntryId()));
+        if (cached.isPresent()) {
+            return cached.map(foodEntry -> new FoodEntryVersion(foodEntry.id(), foodEntry.version(), foodEntry.updatedAt()));
+        }
+        return read(recentFoodEntryWrites.ofFoodEntry(query.foodEntryId()),
+                () -> foodEntryRepository.findVersionById(query.foodEntryId()));
+    }
+
+    @Override
+    public FoodEntryPageVersion handle(GetFoodEntryPageVersionQuery query) {
+        var cached = switch (query.pageQuery()) {
+            case GetFoodEntriesByResidentIdQuery byResident -> foodEntryQueryCache.peek(byResident);
+            case GetFoodEntriesByDateQuery byDate -> foodEntryQueryCache.peek(byDate);
+            default -> Optional.<List<FoodEntryView>>empty();
+        };
+        if (cached.isPresent()) {
+            return FoodEntryPageVersion.ofViews(cached.get());
+        }
+        var pageQuery = query.pageQuery();
+        var criteria = switch (pageQuery) {
+            case GetAllFoodEntriesQuery all -> new FoodEntryCriteria(null, null, null, null, null);
+            case GetFoodEntriesByResidentIdQuery byResident ->
+                    new FoodEntryCriteria(Set.of(byResident.residentId()), null, null, null, null);
+            case GetFoodEntriesByDateQuery byDate -> new FoodEntryCriteria(null, byDate.date(), byDate.date(), null, null);
+            case GetFoodEntriesByMealTypeQuery byMealType ->
+                    new FoodEntryCriteria(null, null, null, Set.of(byMealType.mealType()), null);
+            case SearchFoodEntriesQuery search -> search.criteria();
+        };
+        var recentlyWritten = switch (pageQuery) {
+            case GetFoodEntriesByResidentIdQuery byResident -> recentFoodEntryWrites.ofResident(byResident.residentId());
+            case GetFoodEntriesByDateQuery byDate -> recentFoodEntryWrites.ofDate(byDate.date());
+            default -> false;
+        };
+        return read(recentlyWritten, () -> foodEntryRepository.pageVersion(criteria, after(pageQuery.after()), limit(pageQuery.limit())));
+    }
+
+    private static <T> T read(boolean recentlyWritten, Supplier<T> read) {
+        return recentlyWritten ? ReadRouting.primary(read) : ReadRouting.replica(read);
+    }
+
+    private static List<FoodEntryView> views(List<FoodEntry> foodEntries) {
+        return foodEntries.stream().map(FoodEntryView::of).toList();
+    }
+
+    private static Long after(Long after) {
+        return after != null ? after : 0L;
+    }
+
+    private static Limit limit(Integer limit) {
+        return limit != null ? Limit.of(limit) : Limit.unlimited();
     }
 }
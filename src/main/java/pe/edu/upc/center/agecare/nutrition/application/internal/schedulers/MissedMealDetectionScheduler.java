@@ -0,0 +1,68 @@
+package pe.edu.upc.center.agecare.nutrition.application.internal.schedulers;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.DetectMissedMealsCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+import pe.edu.upc.center.agecare.nutrition.domain.services.MissedMealDetectionCommandService;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs missed-meal detection once per day and meal, as soon as the meal's cutoff time has passed.
+ */
+@Component
+public class MissedMealDetectionScheduler {
+    private final MissedMealDetectionCommandService missedMealDetectionCommandService;
+    private final Clock clock;
+    private final boolean enabled;
+    private final Map<MealType, LocalTime> cutoffs = new EnumMap<>(MealType.class);
+    private final Map<MealType, LocalDate> lastDetected = new EnumMap<>(MealType.class);
+    // Not synchronized: a virtual thread blocking on the shard futures inside a monitor would pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public MissedMealDetectionScheduler(MissedMealDetectionCommandService missedMealDetectionCommandService,
+                                        Clock clock,
+                                        @Value("${nutrition.missed-meals.enabled}") boolean enabled,
+                                        @Value("${nutrition.missed-meals.cutoffs.breakfast}") String breakfastCutoff,
+                                        @Value("${nutrition.missed-meals.cutoffs.lunch}") String lunchCutoff,
+                                        @Value("${nutrition.missed-meals.cutoffs.dinner}") String dinnerCutoff) {
+        this.missedMealDetectionCommandService = missedMealDetectionCommandService;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.cutoffs.put(MealType.BREAKFAST, LocalTime.parse(breakfastCutoff));
+        this.cutoffs.put(MealType.LUNCH, LocalTime.parse(lunchCutoff));
+        this.cutoffs.put(MealType.DINNER, LocalTime.parse(dinnerCutoff));
+    }
+
+    @Scheduled(fixedDelayString = "${nutrition.missed-meals.check-interval}")
+    public void scheduledDetection() {
+        if (enabled) {
+            detectPastCutoffs();
+        }
+    }
+
+    // lastDetected only saves a round trip; the run record is what keeps a day and meal from being alerted twice
+    public void detectPastCutoffs() {
+        lock.lock();
+        try {
+            var now = LocalDateTime.now(clock);
+            cutoffs.forEach((meal, cutoff) -> {
+                if (now.toLocalTime().isBefore(cutoff) || now.toLocalDate().equals(lastDetected.get(meal))) {
+                    return;
+                }
+                missedMealDetectionCommandService.handle(new DetectMissedMealsCommand(now.toLocalDate(), meal));
+                lastDetected.put(meal, now.toLocalDate());
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+}
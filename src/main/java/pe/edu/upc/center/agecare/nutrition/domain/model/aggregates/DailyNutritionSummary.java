@@ -0,0 +1,73 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.aggregates;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.DailyNutritionTotals;
+import pe.edu.upc.center.agecare.shared.domain.aggregates.AuditableAbstractAggregateRoot;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * What a resident ate on one day, kept up to date from the food entries so dashboards read one row.
+ */
+@Entity
+@Table(name = "daily_nutrition_summaries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_nutrition_summaries_resident_id_summary_date",
+                columnNames = {"resident_id", "summary_date"}),
+        indexes = @Index(name = "idx_daily_nutrition_summaries_summary_date", columnList = "summary_date"))
+public class DailyNutritionSummary extends AuditableAbstractAggregateRoot<DailyNutritionSummary> {
+
+    @Getter
+    @NotNull
+    @Column(name = "resident_id", nullable = false)
+    private Long residentId;
+
+    @Getter
+    @NotNull
+    @Column(name = "summary_date", nullable = false)
+    private LocalDate summaryDate;
+
+    @Getter
+    @Column(name = "breakfast_count", nullable = false)
+    private int breakfastCount;
+
+    @Getter
+    @Column(name = "lunch_count", nullable = false)
+    private int lunchCount;
+
+    @Getter
+    @Column(name = "dinner_count", nullable = false)
+    private int dinnerCount;
+
+    @Getter
+    @Column(name = "first_entry_time")
+    private LocalTime firstEntryTime;
+
+    @Getter
+    @Column(name = "last_entry_time")
+    private LocalTime lastEntryTime;
+
+    @Getter
+    @Column(name = "author_count", nullable = false)
+    private int authorCount;
+
+    protected DailyNutritionSummary() {
+    }
+
+    public DailyNutritionSummary(Long residentId, LocalDate summaryDate) {
+        this.residentId = residentId;
+        this.summaryDate = summaryDate;
+    }
+
+    public DailyNutritionSummary updateTotals(DailyNutritionTotals totals) {
+        this.breakfastCount = totals.breakfastCount().intValue();
+        this.lunchCount = totals.lunchCount().intValue();
+        this.dinnerCount = totals.dinnerCount().intValue();
+        this.firstEntryTime = totals.firstEntryTime();
+        this.lastEntryTime = totals.lastEntryTime();
+        this.authorCount = totals.authorCount().intValue();
+        return this;
+    }
+}
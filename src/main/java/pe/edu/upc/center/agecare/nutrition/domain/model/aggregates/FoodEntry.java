@@ -5,11 +5,20 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntryCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.events.FoodEntryCreatedEvent;
+import pe.edu.upc.center.agecare.nutrition.domain.model.events.FoodEntryUpdatedEvent;
 import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
 import pe.edu.upc.center.agecare.shared.domain.aggregates.AuditableAbstractAggregateRoot;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+
 @Entity
-@Table(name = "food_entries")
+@Table(name = "food_entries", indexes = {
+        @Index(name = "idx_food_entries_resident_id_date", columnList = "resident_id, date"),
+        @Index(name = "idx_food_entries_date_meal", columnList = "date, meal"),
+        @Index(name = "idx_food_entries_added_by_id", columnList = "added_by_id")
+})
 public class FoodEntry extends AuditableAbstractAggregateRoot<FoodEntry> {
 
     @Getter
@@ -24,14 +33,14 @@ public class FoodEntry extends AuditableAbstractAggregateRoot<FoodEntry> {
     private String description;
 
     @Getter
-    @NotBlank
+    @NotNull
     @Column(nullable = false)
-    private String date; // YYYY-MM-DD
+    private LocalDate date;
 
     @Getter
-    @NotBlank
+    @NotNull
     @Column(nullable = false)
-    private String time; // HH:mm
+    private LocalTime time;
 
     @Getter
     @Column(name = "added_by")
@@ -56,9 +65,11 @@ public class FoodEntry extends AuditableAbstractAggregateRoot<FoodEntry> {
         this.addedBy = command.addedBy();
         this.addedById = command.addedById();
         this.residentId = command.residentId();
+        this.registerEvent(new FoodEntryCreatedEvent(this));
     }
 
-    public FoodEntry updateInformation(MealType meal, String description, String date, String time) {
+    public FoodEntry updateInformation(MealType meal, String description, LocalDate date, LocalTime time) {
+        this.registerEvent(new FoodEntryUpdatedEvent(this, this.date, this.meal));
         this.meal = meal;
         this.description = description;
         this.date = date;
@@ -83,11 +94,11 @@ public class FoodEntry extends AuditableAbstractAggregateRoot<FoodEntry> {
         return this.description;
     }
 
-    public String getDate() {
+    public LocalDate getDate() {
         return this.date;
     }
 
-    public String getTime() {
+    public LocalTime getTime() {
         return this.time;
     }
 
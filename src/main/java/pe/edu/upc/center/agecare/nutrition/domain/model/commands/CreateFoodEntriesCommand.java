@@ -0,0 +1,6 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.commands;
+
+import java.util.List;
+
+public record CreateFoodEntriesCommand(List<CreateFoodEntryCommand> commands) {
+}
@@ -0,0 +1,8 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.commands;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+
+import java.time.LocalDate;
+
+public record DetectMissedMealsCommand(LocalDate date, MealType meal) {
+}
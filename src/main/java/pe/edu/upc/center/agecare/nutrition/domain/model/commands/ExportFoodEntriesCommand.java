@@ -0,0 +1,10 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.commands;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Exports the food entries in the date range, of the given residents; null or empty components are not applied.
+ */
+public record ExportFoodEntriesCommand(LocalDate from, LocalDate to, Set<Long> residentIds) {
+}
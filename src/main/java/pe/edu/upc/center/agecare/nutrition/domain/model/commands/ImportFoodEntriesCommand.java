@@ -0,0 +1,12 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.commands;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryImportFormat;
+
+import java.io.InputStream;
+
+/**
+ * Imports the food entries read from {@code content}, one per CSV record or NDJSON line. The stream is read to the
+ * end but not closed.
+ */
+public record ImportFoodEntriesCommand(FoodEntryImportFormat format, InputStream content) {
+}
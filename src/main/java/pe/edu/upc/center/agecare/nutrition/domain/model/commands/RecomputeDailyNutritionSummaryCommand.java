@@ -0,0 +1,6 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.commands;
+
+import java.time.LocalDate;
+
+public record RecomputeDailyNutritionSummaryCommand(Long residentId, LocalDate date) {
+}
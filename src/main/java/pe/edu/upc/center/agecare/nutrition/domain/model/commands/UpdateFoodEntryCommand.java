@@ -2,11 +2,14 @@ package pe.edu.upc.center.agecare.nutrition.domain.model.commands;
 
 import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+
 public record UpdateFoodEntryCommand(
         Long foodEntryId,
         MealType meal,
         String description,
-        String date,
-        String time
+        LocalDate date,
+        LocalTime time
 ) {
 }
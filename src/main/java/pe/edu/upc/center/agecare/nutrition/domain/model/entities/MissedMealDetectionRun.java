@@ -0,0 +1,50 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+import pe.edu.upc.center.agecare.shared.domain.entities.AuditableModel;
+
+import java.time.LocalDate;
+
+/**
+ * Record of a finished missed-meal detection for a day and meal, written once every shard has been claimed, so
+ * later detections for the day and meal stop before querying anything. The alerts themselves are guarded by the
+ * shard claims.
+ */
+@Entity
+@Table(name = "missed_meal_detection_runs", uniqueConstraints = @UniqueConstraint(
+        name = "uk_missed_meal_detection_runs_detection_date_meal", columnNames = {"detection_date", "meal"}))
+public class MissedMealDetectionRun extends AuditableModel {
+
+    @Id
+    @Getter
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Getter
+    @Column(name = "detection_date", nullable = false)
+    private LocalDate detectionDate;
+
+    @Getter
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MealType meal;
+
+    @Getter
+    @Column(name = "alert_count")
+    private Integer alertCount;
+
+    protected MissedMealDetectionRun() {
+    }
+
+    public MissedMealDetectionRun(LocalDate detectionDate, MealType meal) {
+        this.detectionDate = detectionDate;
+        this.meal = meal;
+    }
+
+    public MissedMealDetectionRun complete(int alertCount) {
+        this.alertCount = alertCount;
+        return this;
+    }
+}
@@ -0,0 +1,63 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+import pe.edu.upc.center.agecare.shared.domain.entities.AuditableModel;
+
+import java.time.LocalDate;
+
+/**
+ * Claim on one shard of a missed-meal detection: the active residents from the first to the last resident id of
+ * the shard, for a day and meal. It is written
+ * in the same transaction as the shard's alerts, so a shard is either claimed with its alerts raised or, after a
+ * failure or crash, left for the next detection to pick up.
+ */
+@Entity
+@Table(name = "missed_meal_detection_shards", uniqueConstraints = @UniqueConstraint(
+        name = "uk_missed_meal_detection_shards_detection_date_meal_first_resident_id",
+        columnNames = {"detection_date", "meal", "first_resident_id"}))
+public class MissedMealDetectionShard extends AuditableModel {
+
+    @Id
+    @Getter
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Getter
+    @Column(name = "detection_date", nullable = false)
+    private LocalDate detectionDate;
+
+    @Getter
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MealType meal;
+
+    @Getter
+    @Column(name = "first_resident_id", nullable = false)
+    private Long firstResidentId;
+
+    @Getter
+    @Column(name = "last_resident_id", nullable = false)
+    private Long lastResidentId;
+
+    @Getter
+    @Column(name = "alert_count", nullable = false)
+    private Integer alertCount;
+
+    protected MissedMealDetectionShard() {
+    }
+
+    public MissedMealDetectionShard(LocalDate detectionDate, MealType meal, long firstResidentId, long lastResidentId) {
+        this.detectionDate = detectionDate;
+        this.meal = meal;
+        this.firstResidentId = firstResidentId;
+        this.lastResidentId = lastResidentId;
+        this.alertCount = 0;
+    }
+
+    public MissedMealDetectionShard complete(int alertCount) {
+        this.alertCount = alertCount;
+        return this;
+    }
+}
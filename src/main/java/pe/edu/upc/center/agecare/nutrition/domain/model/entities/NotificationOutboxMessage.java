@@ -0,0 +1,79 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.NotificationOutboxStatus;
+import pe.edu.upc.center.agecare.shared.domain.entities.AuditableModel;
+
+import java.time.Instant;
+
+/**
+ * Notification waiting to be relayed to the notifications service. Rows are written in the same
+ * transaction as the change that triggered them and claimed by the relay with a lease, so a crash
+ * between commit and delivery only delays the notification.
+ */
+@Entity
+@Table(name = "notification_outbox_messages", indexes = {
+        @Index(name = "idx_notification_outbox_messages_status_available_at", columnList = "status, available_at, id")
+})
+public class NotificationOutboxMessage extends AuditableModel {
+
+    @Id
+    @Getter
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Getter
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Getter
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @Getter
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationOutboxStatus status;
+
+    @Getter
+    @Column(nullable = false)
+    private int attempts;
+
+    @Getter
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Getter
+    @Column(name = "sent_at")
+    private Instant sentAt;
+
+    protected NotificationOutboxMessage() {
+    }
+
+    public NotificationOutboxMessage(Long userId, String message) {
+        this.userId = userId;
+        this.message = message;
+        this.status = NotificationOutboxStatus.PENDING;
+        this.attempts = 0;
+        this.availableAt = Instant.now();
+    }
+
+    public void claim(Instant leaseUntil) {
+        this.attempts++;
+        this.availableAt = leaseUntil;
+    }
+
+    public void markSent(Instant sentAt) {
+        this.status = NotificationOutboxStatus.SENT;
+        this.sentAt = sentAt;
+    }
+
+    public void markFailed(Instant nextAttemptAt, int maxAttempts) {
+        if (this.attempts >= maxAttempts) {
+            this.status = NotificationOutboxStatus.FAILED;
+        } else {
+            this.availableAt = nextAttemptAt;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.events;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+
+public record FoodEntryCreatedEvent(FoodEntry foodEntry) {
+}
@@ -0,0 +1,9 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.events;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+
+import java.time.LocalDate;
+
+public record FoodEntryUpdatedEvent(FoodEntry foodEntry, LocalDate previousDate, MealType previousMeal) {
+}
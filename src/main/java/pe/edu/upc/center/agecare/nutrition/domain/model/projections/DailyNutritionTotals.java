@@ -0,0 +1,19 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.projections;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Food entry totals of one resident on one day, aggregated in the database.
+ */
+public record DailyNutritionTotals(
+        Long residentId,
+        LocalDate date,
+        Long breakfastCount,
+        Long lunchCount,
+        Long dinnerCount,
+        LocalTime firstEntryTime,
+        LocalTime lastEntryTime,
+        Long authorCount
+) {
+}
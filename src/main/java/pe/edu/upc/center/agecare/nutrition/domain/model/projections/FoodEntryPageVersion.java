@@ -0,0 +1,37 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.projections;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.function.Function;
+
+/**
+ * Fingerprint of a page of food entries: how many there are, the latest modification and the sum of their
+ * versions. Any insert, update or removal within the page changes at least one of them.
+ */
+public record FoodEntryPageVersion(Long count, Date lastModified, Long versionSum) {
+
+    // Same values the database aggregate yields for these entries, so either source gives the same fingerprint
+    public static FoodEntryPageVersion of(Collection<FoodEntry> foodEntries) {
+        return of(foodEntries, FoodEntry::getVersion, FoodEntry::getUpdatedAt);
+    }
+
+    public static FoodEntryPageVersion ofViews(Collection<FoodEntryView> foodEntryViews) {
+        return of(foodEntryViews, FoodEntryView::version, FoodEntryView::updatedAt);
+    }
+
+    private static <T> FoodEntryPageVersion of(Collection<T> entries, Function<T, Long> version,
+                                               Function<T, Date> updatedAt) {
+        long versionSum = 0;
+        Date lastModified = null;
+        for (var entry : entries) {
+            versionSum += version.apply(entry);
+            var entryUpdatedAt = updatedAt.apply(entry);
+            if (lastModified == null || entryUpdatedAt.getTime() > lastModified.getTime()) {
+                lastModified = entryUpdatedAt;
+            }
+        }
+        return new FoodEntryPageVersion((long) entries.size(), lastModified, versionSum);
+    }
+}
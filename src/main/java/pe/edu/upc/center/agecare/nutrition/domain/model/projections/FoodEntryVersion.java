@@ -0,0 +1,9 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.projections;
+
+import java.util.Date;
+
+/**
+ * Identity and version of one food entry, read without loading the entry.
+ */
+public record FoodEntryVersion(Long id, Long version, Date updatedAt) {
+}
@@ -0,0 +1,36 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.projections;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Date;
+
+/**
+ * Read-only copy of a food entry, safe to cache and share between threads where the entity is not.
+ */
+public record FoodEntryView(
+        Long id,
+        MealType meal,
+        String description,
+        LocalDate date,
+        LocalTime time,
+        Date createdAt,
+        String addedBy,
+        Long addedById,
+        Long residentId,
+        Date updatedAt,
+        Long version
+) {
+
+    public static FoodEntryView of(FoodEntry foodEntry) {
+        return new FoodEntryView(foodEntry.getId(), foodEntry.getMeal(), foodEntry.getDescription(), foodEntry.getDate(),
+                foodEntry.getTime(), copy(foodEntry.getCreatedAt()), foodEntry.getAddedBy(), foodEntry.getAddedById(),
+                foodEntry.getResidentId(), copy(foodEntry.getUpdatedAt()), foodEntry.getVersion());
+    }
+
+    private static Date copy(Date date) {
+        return date != null ? new Date(date.getTime()) : null;
+    }
+}
@@ -0,0 +1,10 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.queries;
+
+/**
+ * A keyset page of food entries: the entries after the given id, in id order, up to the limit.
+ */
+public sealed interface FoodEntryPageQuery permits GetAllFoodEntriesQuery, GetFoodEntriesByResidentIdQuery,
+        GetFoodEntriesByDateQuery, GetFoodEntriesByMealTypeQuery, SearchFoodEntriesQuery {
+    Long after();
+    Integer limit();
+}
@@ -1,4 +1,4 @@
 package pe.edu.upc.center.agecare.nutrition.domain.model.queries;
 
-public record GetAllFoodEntriesQuery() {
+public record GetAllFoodEntriesQuery(Long after, Integer limit) implements FoodEntryPageQuery {
 }
@@ -0,0 +1,6 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.queries;
+
+import java.time.LocalDate;
+
+public record GetDailyNutritionSummaryByResidentIdAndDateQuery(Long residentId, LocalDate date) {
+}
@@ -1,4 +1,6 @@
 package pe.edu.upc.center.agecare.nutrition.domain.model.queries;
 
-public record GetFoodEntriesByDateQuery(String date) {
+import java.time.LocalDate;
+
+public record GetFoodEntriesByDateQuery(LocalDate date, Long after, Integer limit) implements FoodEntryPageQuery {
 }
@@ -2,5 +2,5 @@ package pe.edu.upc.center.agecare.nutrition.domain.model.queries;
 
 import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
 
-public record GetFoodEntriesByMealTypeQuery(MealType mealType) {
+public record GetFoodEntriesByMealTypeQuery(MealType mealType, Long after, Integer limit) implements FoodEntryPageQuery {
 }
@@ -1,4 +1,4 @@
 package pe.edu.upc.center.agecare.nutrition.domain.model.queries;
 
-public record GetFoodEntriesByResidentIdQuery(Long residentId) {
+public record GetFoodEntriesByResidentIdQuery(Long residentId, Long after, Integer limit) implements FoodEntryPageQuery {
 }
@@ -0,0 +1,4 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.queries;
+
+public record GetFoodEntryPageVersionQuery(FoodEntryPageQuery pageQuery) {
+}
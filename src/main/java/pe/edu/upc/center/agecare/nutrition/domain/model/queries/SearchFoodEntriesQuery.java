@@ -0,0 +1,6 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.queries;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryCriteria;
+
+public record SearchFoodEntriesQuery(FoodEntryCriteria criteria, Long after, Integer limit) implements FoodEntryPageQuery {
+}
@@ -0,0 +1,9 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.queries;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryCriteria;
+
+/**
+ * Food entries whose description mentions every word of {@code text}, most relevant first.
+ */
+public record SearchFoodEntryDescriptionsQuery(String text, FoodEntryCriteria criteria, Integer offset, Integer limit) {
+}
@@ -0,0 +1,11 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+
+public record FoodEntryBatchItemResult(
+        int index,
+        FoodEntryBatchItemStatus status,
+        FoodEntry foodEntry,
+        String error
+) {
+}
@@ -0,0 +1,8 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects;
+
+public enum FoodEntryBatchItemStatus {
+    CREATED,
+    UPDATED,
+    INVALID,
+    NOT_FOUND
+}
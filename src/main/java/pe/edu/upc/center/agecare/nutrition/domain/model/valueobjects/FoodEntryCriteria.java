@@ -0,0 +1,16 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Combined food entry filter; null or empty components are not applied.
+ */
+public record FoodEntryCriteria(
+        Set<Long> residentIds,
+        LocalDate from,
+        LocalDate to,
+        Set<MealType> mealTypes,
+        Long addedById
+) {
+}
@@ -0,0 +1,6 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects;
+
+public enum FoodEntryImportFormat {
+    CSV,
+    NDJSON
+}
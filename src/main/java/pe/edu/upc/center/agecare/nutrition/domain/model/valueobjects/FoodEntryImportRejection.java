@@ -0,0 +1,4 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects;
+
+public record FoodEntryImportRejection(long line, String reason) {
+}
@@ -0,0 +1,14 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects;
+
+import java.util.List;
+
+/**
+ * Outcome of an import. {@code rejections} lists the first rejected records only; {@code rejected} counts them all.
+ */
+public record FoodEntryImportResult(
+        long read,
+        long imported,
+        long rejected,
+        List<FoodEntryImportRejection> rejections
+) {
+}
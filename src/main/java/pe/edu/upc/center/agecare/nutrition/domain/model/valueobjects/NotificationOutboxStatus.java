@@ -0,0 +1,7 @@
+package pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects;
+
+public enum NotificationOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
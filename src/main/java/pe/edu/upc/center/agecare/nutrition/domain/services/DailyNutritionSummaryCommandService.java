@@ -0,0 +1,9 @@
+package pe.edu.upc.center.agecare.nutrition.domain.services;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.RebuildDailyNutritionSummariesCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.RecomputeDailyNutritionSummaryCommand;
+
+public interface DailyNutritionSummaryCommandService {
+    void handle(RecomputeDailyNutritionSummaryCommand command);
+    boolean handle(RebuildDailyNutritionSummariesCommand command);
+}
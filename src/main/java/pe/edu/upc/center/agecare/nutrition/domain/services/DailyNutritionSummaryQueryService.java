@@ -0,0 +1,15 @@
+package pe.edu.upc.center.agecare.nutrition.domain.services;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.DailyNutritionSummary;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetDailyNutritionSummariesByDateQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetDailyNutritionSummariesByResidentIdQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetDailyNutritionSummaryByResidentIdAndDateQuery;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface DailyNutritionSummaryQueryService {
+    Optional<DailyNutritionSummary> handle(GetDailyNutritionSummaryByResidentIdAndDateQuery query);
+    List<DailyNutritionSummary> handle(GetDailyNutritionSummariesByResidentIdQuery query);
+    List<DailyNutritionSummary> handle(GetDailyNutritionSummariesByDateQuery query);
+}
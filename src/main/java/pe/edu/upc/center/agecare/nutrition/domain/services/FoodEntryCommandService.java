@@ -1,13 +1,18 @@
 package pe.edu.upc.center.agecare.nutrition.domain.services;
 
 import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntriesCommand;
 import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntryCommand;
- 
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.UpdateFoodEntriesCommand;
 import pe.edu.upc.center.agecare.nutrition.domain.model.commands.UpdateFoodEntryCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryBatchItemResult;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface FoodEntryCommandService {
-    Long handle(CreateFoodEntryCommand command);
+    Optional<FoodEntry> handle(CreateFoodEntryCommand command);
     Optional<FoodEntry> handle(UpdateFoodEntryCommand command);
+    List<FoodEntryBatchItemResult> handle(CreateFoodEntriesCommand command);
+    List<FoodEntryBatchItemResult> handle(UpdateFoodEntriesCommand command);
 }
@@ -0,0 +1,10 @@
+package pe.edu.upc.center.agecare.nutrition.domain.services;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.ExportFoodEntriesCommand;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface FoodEntryExportCommandService {
+    Optional<Path> handle(ExportFoodEntriesCommand command);
+}
@@ -0,0 +1,10 @@
+package pe.edu.upc.center.agecare.nutrition.domain.services;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.ImportFoodEntriesCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryImportResult;
+
+import java.util.Optional;
+
+public interface FoodEntryImportCommandService {
+    Optional<FoodEntryImportResult> handle(ImportFoodEntriesCommand command);
+}
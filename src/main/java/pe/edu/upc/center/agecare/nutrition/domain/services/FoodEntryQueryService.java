@@ -1,15 +1,24 @@
 package pe.edu.upc.center.agecare.nutrition.domain.services;
 
 import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryPageVersion;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryVersion;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryView;
 import pe.edu.upc.center.agecare.nutrition.domain.model.queries.*;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface FoodEntryQueryService {
     List<FoodEntry> handle(GetAllFoodEntriesQuery query);
-    Optional<FoodEntry> handle(GetFoodEntryByIdQuery query);
-    List<FoodEntry> handle(GetFoodEntriesByResidentIdQuery query);
-    List<FoodEntry> handle(GetFoodEntriesByDateQuery query);
-    List<FoodEntry> handle(GetFoodEntriesByMealTypeQuery query);
+    void handle(GetAllFoodEntriesQuery query, Consumer<FoodEntry> consumer);
+    Optional<FoodEntryView> handle(GetFoodEntryByIdQuery query);
+    List<FoodEntryView> handle(GetFoodEntriesByResidentIdQuery query);
+    List<FoodEntryView> handle(GetFoodEntriesByDateQuery query);
+    List<FoodEntryView> handle(GetFoodEntriesByMealTypeQuery query);
+    List<FoodEntryView> handle(SearchFoodEntriesQuery query);
+    List<FoodEntryView> handle(SearchFoodEntryDescriptionsQuery query);
+    Optional<FoodEntryVersion> handle(GetFoodEntryVersionQuery query);
+    FoodEntryPageVersion handle(GetFoodEntryPageVersionQuery query);
 }
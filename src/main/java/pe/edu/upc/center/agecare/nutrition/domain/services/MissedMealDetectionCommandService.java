@@ -0,0 +1,10 @@
+package pe.edu.upc.center.agecare.nutrition.domain.services;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.DetectMissedMealsCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.entities.MissedMealDetectionRun;
+
+import java.util.Optional;
+
+public interface MissedMealDetectionCommandService {
+    Optional<MissedMealDetectionRun> handle(DetectMissedMealsCommand command);
+}
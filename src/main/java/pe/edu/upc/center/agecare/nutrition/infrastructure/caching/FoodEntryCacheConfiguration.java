@@ -0,0 +1,26 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.caching;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Consumer;
+
+@Configuration
+public class FoodEntryCacheConfiguration {
+
+    // Single replica default: local invalidation already happens in FoodEntryQueryCache, so nothing to relay
+    @Bean
+    @ConditionalOnMissingBean
+    public FoodEntryCacheInvalidationChannel foodEntryCacheInvalidationChannel() {
+        return new FoodEntryCacheInvalidationChannel() {
+            @Override
+            public void publish(FoodEntryCacheInvalidation invalidation) {
+            }
+
+            @Override
+            public void subscribe(Consumer<FoodEntryCacheInvalidation> listener) {
+            }
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.caching;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+public record FoodEntryCacheInvalidation(Long foodEntryId, Long residentId, Set<LocalDate> dates, Set<MealType> meals) {
+}
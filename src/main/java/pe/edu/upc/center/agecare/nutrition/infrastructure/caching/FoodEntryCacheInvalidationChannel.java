@@ -0,0 +1,12 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.caching;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations between replicas. Provide a bean backed by a broker to keep several replicas
+ * coherent; the default channel only covers the local process.
+ */
+public interface FoodEntryCacheInvalidationChannel {
+    void publish(FoodEntryCacheInvalidation invalidation);
+    void subscribe(Consumer<FoodEntryCacheInvalidation> listener);
+}
@@ -0,0 +1,129 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.caching;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryView;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetFoodEntriesByDateQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetFoodEntriesByResidentIdQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetFoodEntryByIdQuery;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache for the food entry queries dashboards poll, keyed by query record.
+ * Entries expire after the configured TTL and are invalidated precisely when a food entry is created or updated.
+ * Concurrent misses on the same list query share one load through {@link FoodEntryQueryCoalescer}. Entries are
+ * cached as immutable {@link FoodEntryView}s, never as the entities they were read from.
+ */
+@Component
+public class FoodEntryQueryCache {
+    private final Cache<GetFoodEntryByIdQuery, FoodEntryView> foodEntryById;
+    private final Cache<GetFoodEntriesByResidentIdQuery, List<FoodEntryView>> foodEntriesByResidentId;
+    private final Cache<GetFoodEntriesByDateQuery, List<FoodEntryView>> foodEntriesByDate;
+    private final FoodEntryCacheInvalidationChannel invalidationChannel;
+    private final FoodEntryQueryCoalescer coalescer;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public FoodEntryQueryCache(MeterRegistry meterRegistry,
+                               FoodEntryCacheInvalidationChannel invalidationChannel,
+                               FoodEntryQueryCoalescer coalescer,
+                               @Value("${nutrition.cache.maximum-size}") long maximumSize,
+                               @Value("${nutrition.cache.ttl}") Duration ttl) {
+        this.foodEntryById = build(maximumSize, ttl);
+        this.foodEntriesByResidentId = build(maximumSize, ttl);
+        this.foodEntriesByDate = build(maximumSize, ttl);
+        CaffeineCacheMetrics.monitor(meterRegistry, foodEntryById, "foodEntryById");
+        CaffeineCacheMetrics.monitor(meterRegistry, foodEntriesByResidentId, "foodEntriesByResidentId");
+        CaffeineCacheMetrics.monitor(meterRegistry, foodEntriesByDate, "foodEntriesByDate");
+
+        this.coalescer = coalescer;
+        this.invalidationChannel = invalidationChannel;
+        invalidationChannel.subscribe(this::evict);
+    }
+
+    // Missing entries are not cached, so an id looked up before it exists is never answered from the cache
+    public Optional<FoodEntryView> get(GetFoodEntryByIdQuery query,
+                                       Function<GetFoodEntryByIdQuery, Optional<FoodEntryView>> loader) {
+        var cached = foodEntryById.getIfPresent(query);
+        return cached != null ? Optional.of(cached)
+                : Optional.ofNullable(load(foodEntryById, query, key -> loader.apply(key).orElse(null)));
+    }
+
+    public List<FoodEntryView> get(GetFoodEntriesByResidentIdQuery query,
+                                   Function<GetFoodEntriesByResidentIdQuery, List<FoodEntryView>> loader) {
+        var cached = foodEntriesByResidentId.getIfPresent(query);
+        return cached != null ? cached : coalescer.execute(query,
+                () -> load(foodEntriesByResidentId, query, key -> List.copyOf(loader.apply(key))));
+    }
+
+    public List<FoodEntryView> get(GetFoodEntriesByDateQuery query,
+                                   Function<GetFoodEntriesByDateQuery, List<FoodEntryView>> loader) {
+        var cached = foodEntriesByDate.getIfPresent(query);
+        return cached != null ? cached : coalescer.execute(query,
+                () -> load(foodEntriesByDate, query, key -> List.copyOf(loader.apply(key))));
+    }
+
+    // Lookups that never load, for answering conditional requests from what is already cached
+    public Optional<FoodEntryView> peek(GetFoodEntryByIdQuery query) {
+        return Optional.ofNullable(foodEntryById.getIfPresent(query));
+    }
+
+    public Optional<List<FoodEntryView>> peek(GetFoodEntriesByResidentIdQuery query) {
+        return Optional.ofNullable(foodEntriesByResidentId.getIfPresent(query));
+    }
+
+    public Optional<List<FoodEntryView>> peek(GetFoodEntriesByDateQuery query) {
+        return Optional.ofNullable(foodEntriesByDate.getIfPresent(query));
+    }
+
+    public void invalidate(FoodEntryCacheInvalidation invalidation) {
+        evict(invalidation);
+        invalidationChannel.publish(invalidation);
+    }
+
+    private void evict(FoodEntryCacheInvalidation invalidation) {
+        invalidations.incrementAndGet();
+        coalescer.forget(invalidation);
+        if (invalidation.foodEntryId() != null) {
+            foodEntryById.invalidate(new GetFoodEntryByIdQuery(invalidation.foodEntryId()));
+        }
+        // Paged queries are separate keys, so drop every page of the affected resident and dates
+        foodEntriesByResidentId.asMap().keySet()
+                .removeIf(query -> Objects.equals(query.residentId(), invalidation.residentId()));
+        foodEntriesByDate.asMap().keySet()
+                .removeIf(query -> invalidation.dates().contains(query.date()));
+    }
+
+    // Loaded outside the cache's own compute, which would hold a map lock for as long as the query runs. An
+    // invalidation that ran meanwhile could not see the key yet, so the result is taken back out rather than
+    // served until it expires. A null result is returned without being cached
+    private <K, V> V load(Cache<K, V> cache, K query, Function<K, V> loader) {
+        long generation = invalidations.get();
+        var loaded = loader.apply(query);
+        if (loaded == null) {
+            return null;
+        }
+        cache.put(query, loaded);
+        if (invalidations.get() != generation) {
+            cache.asMap().remove(query, loaded);
+        }
+        return loaded;
+    }
+
+    private static <K, V> Cache<K, V> build(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
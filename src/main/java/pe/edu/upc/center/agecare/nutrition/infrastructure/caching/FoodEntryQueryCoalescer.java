@@ -0,0 +1,63 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.caching;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryView;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetFoodEntriesByDateQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetFoodEntriesByMealTypeQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetFoodEntriesByResidentIdQuery;
+import pe.edu.upc.center.agecare.shared.infrastructure.concurrency.SingleFlight;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Runs identical food entry list queries that arrive together, such as every station loading today's entries at
+ * the start of a meal, as one database query whose result all of them share.
+ */
+@Component
+public class FoodEntryQueryCoalescer {
+    private final SingleFlight<GetFoodEntriesByResidentIdQuery, List<FoodEntryView>> foodEntriesByResidentId = new SingleFlight<>();
+    private final SingleFlight<GetFoodEntriesByDateQuery, List<FoodEntryView>> foodEntriesByDate = new SingleFlight<>();
+    private final SingleFlight<GetFoodEntriesByMealTypeQuery, List<FoodEntryView>> foodEntriesByMealType = new SingleFlight<>();
+
+    public FoodEntryQueryCoalescer(MeterRegistry meterRegistry) {
+        monitor(meterRegistry, foodEntriesByResidentId, "foodEntriesByResidentId");
+        monitor(meterRegistry, foodEntriesByDate, "foodEntriesByDate");
+        monitor(meterRegistry, foodEntriesByMealType, "foodEntriesByMealType");
+    }
+
+    // Results are shared between threads, so they are copied into immutable lists of views once
+    public List<FoodEntryView> execute(GetFoodEntriesByResidentIdQuery query, Supplier<List<FoodEntryView>> read) {
+        return foodEntriesByResidentId.execute(query, () -> List.copyOf(read.get()));
+    }
+
+    public List<FoodEntryView> execute(GetFoodEntriesByDateQuery query, Supplier<List<FoodEntryView>> read) {
+        return foodEntriesByDate.execute(query, () -> List.copyOf(read.get()));
+    }
+
+    public List<FoodEntryView> execute(GetFoodEntriesByMealTypeQuery query, Supplier<List<FoodEntryView>> read) {
+        return foodEntriesByMealType.execute(query, () -> List.copyOf(read.get()));
+    }
+
+    public void forget(FoodEntryCacheInvalidation invalidation) {
+        foodEntriesByResidentId.forget(query -> Objects.equals(query.residentId(), invalidation.residentId()));
+        foodEntriesByDate.forget(query -> invalidation.dates().contains(query.date()));
+        foodEntriesByMealType.forget(query -> invalidation.meals().contains(query.mealType()));
+    }
+
+    private static void monitor(MeterRegistry meterRegistry, SingleFlight<?, ?> flights, String query) {
+        FunctionCounter.builder("nutrition.query.calls", flights, SingleFlight::executed)
+                .description("Food entry list queries run against the database or shared with one already running")
+                .tag("query", query)
+                .tag("result", "executed")
+                .register(meterRegistry);
+        FunctionCounter.builder("nutrition.query.calls", flights, SingleFlight::coalesced)
+                .description("Food entry list queries run against the database or shared with one already running")
+                .tag("query", query)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+    }
+}
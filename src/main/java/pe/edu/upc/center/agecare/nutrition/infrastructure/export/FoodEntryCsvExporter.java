@@ -0,0 +1,195 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.export;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.ExportFoodEntriesCommand;
+import pe.edu.upc.center.agecare.shared.infrastructure.persistence.jdbc.ReadRouting;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes food entries to a gzip'd CSV file straight from a forward-only JDBC cursor, one row at a time, so memory
+ * stays flat however many rows match and no entity or resource is built. Rows come in the order the database
+ * reads them, not sorted, which spares it a sort over the whole export. The file appears under its final name
+ * only once complete.
+ * <p>
+ * On MySQL the driver streams only with {@code useCursorFetch=true} on the URL, which the default datasource URL
+ * sets; otherwise it would buffer the whole result before the first row.
+ */
+@Component
+public class FoodEntryCsvExporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FoodEntryCsvExporter.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String HEADER =
+            "id,resident_id,date,time,meal,description,added_by,added_by_id,created_at,updated_at,version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long progressInterval;
+
+    private final Counter exportedRows;
+    private final Timer exports;
+    private final AtomicLong currentRows = new AtomicLong();
+
+    public FoodEntryCsvExporter(DataSource dataSource,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${nutrition.export.fetch-size}") int fetchSize,
+                                @Value("${nutrition.export.progress-interval}") long progressInterval) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        // Read-only, so the whole export reads one consistent snapshot from a replica when there is one
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.progressInterval = progressInterval;
+
+        this.exportedRows = Counter.builder("nutrition.export.rows")
+                .description("Food entry rows written to export files")
+                .register(meterRegistry);
+        this.exports = Timer.builder("nutrition.export.duration")
+                .description("Time to write a food entry export file")
+                .register(meterRegistry);
+        meterRegistry.gauge("nutrition.export.current.rows", currentRows);
+    }
+
+    /**
+     * Exports the matching food entries to {@code target} and returns the number of rows written.
+     */
+    public long export(ExportFoodEntriesCommand command, Path target) throws IOException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        var partial = target.resolveSibling(target.getFileName() + ".part");
+        long started = System.nanoTime();
+        currentRows.set(0);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(partial), BUFFER_SIZE), BUFFER_SIZE),
+                StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            writer.write(HEADER);
+            writer.write('\n');
+            ReadRouting.replica(() -> transactionTemplate.executeWithoutResult(status -> query(command, writer, started)));
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(partial);
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        long rows = currentRows.get();
+        long elapsed = System.nanoTime() - started;
+        exports.record(elapsed, TimeUnit.NANOSECONDS);
+        LOGGER.atInfo().setMessage("Food entry export written")
+                .addKeyValue("file", target)
+                .addKeyValue("rows", rows)
+                .addKeyValue("bytes", Files.size(target))
+                .addKeyValue("rowsPerSecond", rowsPerSecond(rows, elapsed))
+                .log();
+        return rows;
+    }
+
+    private void query(ExportFoodEntriesCommand command, Writer writer, long started) {
+        var sql = new StringBuilder("select id, resident_id, date, time, meal, description, added_by, added_by_id, "
+                + "created_at, updated_at, version from food_entries where 1 = 1");
+        List<Object> arguments = new ArrayList<>();
+        if (command.from() != null) {
+            sql.append(" and date >= ?");
+            arguments.add(command.from());
+        }
+        if (command.to() != null) {
+            sql.append(" and date <= ?");
+            arguments.add(command.to());
+        }
+        if (command.residentIds() != null && !command.residentIds().isEmpty()) {
+            sql.append(" and resident_id in (").append("?,".repeat(command.residentIds().size() - 1)).append("?)");
+            arguments.addAll(command.residentIds());
+        }
+        jdbcTemplate.query(sql.toString(), resultSet -> {
+            try {
+                writeRow(resultSet, writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            exportedRows.increment();
+            long rows = currentRows.incrementAndGet();
+            if (rows % progressInterval == 0) {
+                LOGGER.atInfo().setMessage("Food entry export in progress")
+                        .addKeyValue("rows", rows)
+                        .addKeyValue("rowsPerSecond", rowsPerSecond(rows, System.nanoTime() - started))
+                        .log();
+            }
+        }, arguments.toArray());
+    }
+
+    private static void writeRow(ResultSet resultSet, Writer writer) throws SQLException, IOException {
+        writer.write(resultSet.getString(1));
+        writer.write(',');
+        writeValue(writer, resultSet.getString(2));
+        writer.write(',');
+        writer.write(resultSet.getString(3));
+        writer.write(',');
+        writer.write(resultSet.getString(4));
+        writer.write(',');
+        writer.write(resultSet.getString(5));
+        writer.write(',');
+        writeValue(writer, resultSet.getString(6));
+        writer.write(',');
+        writeValue(writer, resultSet.getString(7));
+        writer.write(',');
+        writeValue(writer, resultSet.getString(8));
+        writer.write(',');
+        writer.write(resultSet.getTimestamp(9).toInstant().toString());
+        writer.write(',');
+        writer.write(resultSet.getTimestamp(10).toInstant().toString());
+        writer.write(',');
+        writer.write(resultSet.getString(11));
+        writer.write('\n');
+    }
+
+    // RFC 4180: quoted only when needed, with embedded quotes doubled; null is an empty field
+    private static void writeValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static long rowsPerSecond(long rows, long elapsedNanos) {
+        return elapsedNanos > 0 ? rows * 1_000_000_000L / elapsedNanos : rows;
+    }
+}
@@ -0,0 +1,138 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.imports;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RFC 4180 CSV with a header row naming the columns, in any order, as the export writes them. Columns other than
+ * the food entry's own, such as an exported id, are ignored.
+ */
+class CsvFoodEntryImportReader implements FoodEntryImportReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final List<String> REQUIRED_COLUMNS = List.of("meal", "description", "date", "time");
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private boolean unterminated;
+    private long line = 1;
+
+    private final int columns;
+    private final int meal;
+    private final int description;
+    private final int date;
+    private final int time;
+    private final int addedBy;
+    private final int addedById;
+    private final int residentId;
+
+    CsvFoodEntryImportReader(Reader reader) throws IOException {
+        this.reader = reader;
+        if (!readRecord()) {
+            throw new IllegalArgumentException("The CSV file has no header");
+        }
+        var header = fields.stream()
+                .map(name -> name.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT))
+                .toList();
+        var missing = REQUIRED_COLUMNS.stream().filter(column -> !header.contains(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("The CSV header has no " + String.join(", ", missing) + " column");
+        }
+        this.columns = header.size();
+        this.meal = header.indexOf("meal");
+        this.description = header.indexOf("description");
+        this.date = header.indexOf("date");
+        this.time = header.indexOf("time");
+        this.addedBy = header.indexOf("added_by");
+        this.addedById = header.indexOf("added_by_id");
+        this.residentId = header.indexOf("resident_id");
+    }
+
+    @Override
+    public FoodEntryImportRecord next() throws IOException {
+        long start;
+        do {
+            start = line;
+            if (!readRecord()) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        if (unterminated) {
+            return FoodEntryImportRecord.unreadable(start, "quoted field is not closed before the end of the file");
+        }
+        if (fields.size() != columns) {
+            return FoodEntryImportRecord.unreadable(start,
+                    "expected " + columns + " fields but found " + fields.size());
+        }
+        return new FoodEntryImportRecord(start, field(meal), field(description), field(date), field(time),
+                field(addedBy), field(addedById), field(residentId), null);
+    }
+
+    private String field(int column) {
+        return column >= 0 ? fields.get(column) : null;
+    }
+
+    // Fields are separated by commas and may be quoted, with quotes inside doubled; a quoted field may span lines.
+    // Records end at an unquoted LF, with any CR before it dropped. False at the end of the input
+    private boolean readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        unterminated = false;
+        int c = read();
+        if (c < 0) {
+            return false;
+        }
+        boolean quoted = false;
+        while (true) {
+            if (c < 0) {
+                unterminated = quoted;
+                fields.add(field.toString());
+                return true;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                fields.add(field.toString());
+                return true;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
@@ -0,0 +1,67 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.imports;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntryCommand;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts food entries with one JDBC batch per call, bypassing the persistence context and the domain events, so
+ * no notification, change event or summary recompute is triggered. Ids come from Hibernate's own generator for
+ * the entity, so they never collide with those handed out to entries saved normally.
+ */
+@Component
+public class FoodEntryBatchInserter {
+    private static final String INSERT = "insert into food_entries (id, meal, description, date, time, added_by, "
+            + "added_by_id, resident_id, version, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private final EntityManager entityManager;
+    private final IdentifierGenerator idGenerator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public FoodEntryBatchInserter(EntityManager entityManager,
+                                  DataSource dataSource,
+                                  PlatformTransactionManager transactionManager,
+                                  Clock clock) {
+        this.entityManager = entityManager;
+        this.idGenerator = (IdentifierGenerator) entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(FoodEntry.class)
+                .getGenerator();
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    /**
+     * Inserts the entries in a transaction of their own.
+     */
+    public void insert(List<CreateFoodEntryCommand> commands) {
+        var now = Timestamp.from(clock.instant());
+        transactionTemplate.executeWithoutResult(status -> {
+            var session = entityManager.unwrap(SharedSessionContractImplementor.class);
+            List<Object[]> rows = new ArrayList<>(commands.size());
+            for (var command : commands) {
+                rows.add(new Object[]{idGenerator.generate(session, null),
+                        command.meal().name(), command.description(), command.date(), command.time(),
+                        command.addedBy(), command.addedById(), command.residentId(), now, now});
+            }
+            jdbcTemplate.batchUpdate(INSERT, rows);
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryImportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads an import file record by record, so only the record at hand is held in memory.
+ */
+public interface FoodEntryImportReader {
+
+    /**
+     * Opens a reader over UTF-8 {@code input}. A CSV header is read straight away and an
+     * {@link IllegalArgumentException} thrown when it lacks a required column.
+     */
+    static FoodEntryImportReader open(FoodEntryImportFormat format, InputStream input, ObjectMapper objectMapper)
+            throws IOException {
+        var reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+        return switch (format) {
+            case CSV -> new CsvFoodEntryImportReader(reader);
+            case NDJSON -> new NdjsonFoodEntryImportReader(reader, objectMapper);
+        };
+    }
+
+    /**
+     * The next record, or null at the end of the input.
+     */
+    FoodEntryImportRecord next() throws IOException;
+}
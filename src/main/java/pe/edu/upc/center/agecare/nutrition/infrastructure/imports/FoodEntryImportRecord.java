@@ -0,0 +1,21 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.imports;
+
+/**
+ * One record of an import file as read, before any value is parsed. {@code line} is the line it starts on; a
+ * record that could not be read at all carries only the {@code error}.
+ */
+public record FoodEntryImportRecord(
+        long line,
+        String meal,
+        String description,
+        String date,
+        String time,
+        String addedBy,
+        String addedById,
+        String residentId,
+        String error
+) {
+    static FoodEntryImportRecord unreadable(long line, String error) {
+        return new FoodEntryImportRecord(line, null, null, null, null, null, null, null, error);
+    }
+}
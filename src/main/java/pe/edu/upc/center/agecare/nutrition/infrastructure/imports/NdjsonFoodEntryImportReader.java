@@ -0,0 +1,55 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * One JSON object per line, with the fields of a create request. Blank lines are skipped.
+ */
+class NdjsonFoodEntryImportReader implements FoodEntryImportReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long line;
+
+    NdjsonFoodEntryImportReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(reader, BUFFER_SIZE);
+        this.objectReader = objectMapper.reader();
+    }
+
+    @Override
+    public FoodEntryImportRecord next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+
+        JsonNode node;
+        try {
+            node = objectReader.readTree(text);
+        } catch (JsonProcessingException e) {
+            return FoodEntryImportRecord.unreadable(line, "line is not valid JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return FoodEntryImportRecord.unreadable(line, "line is not a JSON object");
+        }
+        return new FoodEntryImportRecord(line, text(node, "meal"), text(node, "description"), text(node, "date"),
+                text(node, "time"), text(node, "addedBy"), text(node, "addedById"), text(node, "residentId"), null);
+    }
+
+    private static String text(JsonNode node, String name) {
+        var value = node.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -0,0 +1,150 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.integration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * In-process dispatch queue for outgoing notifications. Callers enqueue and return immediately;
+ * a drainer thread hands batches to a bounded pool of virtual threads that deliver them through
+ * {@link NotificationServiceClient}. Each notification is sent once; retrying a failed send is left to the
+ * notification outbox, which owns the attempt count and the delay between attempts.
+ */
+@Component
+public class NotificationDispatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final NotificationServiceClient notificationServiceClient;
+    private final BlockingQueue<PendingNotification> queue;
+    private final Semaphore inFlight;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final int batchSize;
+    private final Duration offerTimeout;
+
+    private final Timer successfulSends;
+    private final Timer failedSends;
+    private final Counter dropped;
+    private final Counter undelivered;
+
+    private volatile boolean running;
+    private Thread drainer;
+
+    public NotificationDispatcher(NotificationServiceClient notificationServiceClient,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${nutrition.notifications.dispatch.queue-capacity}") int queueCapacity,
+                                  @Value("${nutrition.notifications.dispatch.batch-size}") int batchSize,
+                                  @Value("${nutrition.notifications.dispatch.max-concurrency}") int maxConcurrency,
+                                  @Value("${nutrition.notifications.dispatch.offer-timeout}") Duration offerTimeout) {
+        this.notificationServiceClient = notificationServiceClient;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.inFlight = new Semaphore(maxConcurrency);
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+
+        meterRegistry.gauge("nutrition.notifications.queue.size", queue, BlockingQueue::size);
+        this.successfulSends = Timer.builder("nutrition.notifications.send")
+                .tag("outcome", "success")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.failedSends = Timer.builder("nutrition.notifications.send")
+                .tag("outcome", "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.dropped = meterRegistry.counter("nutrition.notifications.dropped");
+        this.undelivered = meterRegistry.counter("nutrition.notifications.undelivered");
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        drainer = Thread.ofVirtual().name("notification-dispatcher").start(this::drain);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        drainer.join(offerTimeout.toMillis() + 1000);
+        workers.shutdown();
+        if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+            LOGGER.warn("Notification dispatcher stopped with deliveries still in flight and {} queued", queue.size());
+        }
+    }
+
+    /**
+     * Queues a notification for delivery. Blocks for at most the configured offer timeout when the
+     * queue is full; if it is still full the notification is dropped and the returned future completes
+     * with {@code false}.
+     */
+    public CompletableFuture<Boolean> enqueue(Long userId, String message) {
+        var notification = new PendingNotification(userId, message, new CompletableFuture<>());
+        try {
+            if (!queue.offer(notification, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                dropped.increment();
+                LOGGER.warn("Notification queue is full, dropping notification for user {}", userId);
+                notification.result().complete(false);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.increment();
+            notification.result().complete(false);
+        }
+        return notification.result();
+    }
+
+    private void drain() {
+        List<PendingNotification> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                for (var notification : batch) {
+                    inFlight.acquire();
+                    workers.execute(() -> {
+                        try {
+                            deliver(notification);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RejectedExecutionException e) {
+                batch.forEach(notification -> notification.result().complete(false));
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(PendingNotification notification) {
+        long start = System.nanoTime();
+        boolean sent = notificationServiceClient.sendNotification(notification.userId(), notification.message());
+        (sent ? successfulSends : failedSends).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!sent) {
+            undelivered.increment();
+        }
+        notification.result().complete(sent);
+    }
+
+    private record PendingNotification(Long userId, String message, CompletableFuture<Boolean> result) {
+    }
+}
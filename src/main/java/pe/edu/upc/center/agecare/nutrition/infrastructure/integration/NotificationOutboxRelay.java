@@ -0,0 +1,135 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.integration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.upc.center.agecare.nutrition.domain.model.entities.NotificationOutboxMessage;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.NotificationOutboxStatus;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories.NotificationOutboxMessageRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Polls the notification outbox and relays claimed messages through {@link NotificationDispatcher}.
+ * Claiming uses {@code FOR UPDATE SKIP LOCKED} and leases each row for the configured duration,
+ * so several replicas can relay concurrently and a crashed relay's messages become claimable again.
+ * <p>
+ * A poll never waits for deliveries: it records the outcome of those that finished since the last one and claims
+ * as many new messages as the batch size leaves room for. The outbox is the only place a failed send is retried,
+ * after the retry delay and up to the configured attempts.
+ */
+@Component
+public class NotificationOutboxRelay {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationOutboxRelay.class);
+
+    private final NotificationOutboxMessageRepository notificationOutboxMessageRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration retryDelay;
+    private final Duration retention;
+
+    private final Map<Long, Delivery> inFlight = new ConcurrentHashMap<>();
+
+    public NotificationOutboxRelay(NotificationOutboxMessageRepository notificationOutboxMessageRepository,
+                                   NotificationDispatcher notificationDispatcher,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${nutrition.notifications.outbox.batch-size}") int batchSize,
+                                   @Value("${nutrition.notifications.outbox.max-attempts}") int maxAttempts,
+                                   @Value("${nutrition.notifications.outbox.lease}") Duration lease,
+                                   @Value("${nutrition.notifications.outbox.retry-delay}") Duration retryDelay,
+                                   @Value("${nutrition.notifications.outbox.retention}") Duration retention) {
+        this.notificationOutboxMessageRepository = notificationOutboxMessageRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.retryDelay = retryDelay;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${nutrition.notifications.outbox.poll-interval}")
+    public void relay() {
+        List<NotificationOutboxMessage> claimed;
+        int room;
+        do {
+            complete(finishedDeliveries());
+            room = batchSize - inFlight.size();
+            if (room <= 0) {
+                return;
+            }
+            claimed = claimBatch(room);
+            claimed.forEach(message -> inFlight.put(message.getId(), new Delivery(
+                    notificationDispatcher.enqueue(message.getUserId(), message.getMessage()), message.getAvailableAt())));
+        } while (claimed.size() == room);
+    }
+
+    @Scheduled(fixedDelayString = "${nutrition.notifications.outbox.cleanup-interval}")
+    public void purgeSentMessages() {
+        var purged = transactionTemplate.execute(status -> notificationOutboxMessageRepository
+                .deleteByStatusAndSentAtBefore(NotificationOutboxStatus.SENT, Instant.now().minus(retention)));
+        if (purged != null && purged > 0) {
+            LOGGER.info("Purged {} relayed notification outbox messages", purged);
+        }
+    }
+
+    private List<NotificationOutboxMessage> claimBatch(int size) {
+        return transactionTemplate.execute(status -> {
+            var now = Instant.now();
+            var messages = notificationOutboxMessageRepository.findClaimable(
+                    NotificationOutboxStatus.PENDING, now, Limit.of(size));
+            messages.forEach(message -> message.claim(now.plus(lease)));
+            return messages;
+        });
+    }
+
+    // Deliveries still running past their lease are let go, since another poll may already have claimed them again
+    private Map<Long, Boolean> finishedDeliveries() {
+        var now = Instant.now();
+        Map<Long, Boolean> outcomes = new HashMap<>();
+        inFlight.forEach((id, delivery) -> {
+            if (delivery.result().isDone()) {
+                outcomes.put(id, delivery.result().getNow(false));
+                inFlight.remove(id);
+            } else if (delivery.leasedUntil().isBefore(now)) {
+                LOGGER.warn("Notification outbox message {} not relayed within its lease; it will be retried", id);
+                inFlight.remove(id);
+            }
+        });
+        return outcomes;
+    }
+
+    private void complete(Map<Long, Boolean> outcomes) {
+        if (outcomes.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            var now = Instant.now();
+            notificationOutboxMessageRepository.findAllById(outcomes.keySet()).forEach(message -> {
+                if (outcomes.get(message.getId())) {
+                    message.markSent(now);
+                } else {
+                    message.markFailed(now.plus(retryDelay.multipliedBy(message.getAttempts())), maxAttempts);
+                }
+            });
+        });
+    }
+
+    private record Delivery(CompletableFuture<Boolean> result, Instant leasedUntil) {
+    }
+}
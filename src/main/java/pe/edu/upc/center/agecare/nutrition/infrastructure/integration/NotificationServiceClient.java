@@ -1,47 +1,102 @@
 package pe.edu.upc.center.agecare.nutrition.infrastructure.integration;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
+import pe.edu.upc.center.agecare.shared.infrastructure.logging.RateLimitedLogger;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Sends notifications through a bulkhead and a circuit breaker: at most a fixed number of calls wait on
+ * the notifications service at once, and while it keeps failing calls are refused immediately instead of
+ * tying up callers until their timeouts expire. Refused calls report {@code false} like any failed send.
+ */
 @Service
 public class NotificationServiceClient {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationServiceClient.class);
+    private static final RateLimitedLogger FAILURES = new RateLimitedLogger(LOGGER, 10, Duration.ofMinutes(1));
+    private static final String SERVICE = "notifications";
+
     private final RestClient restClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
 
     @Value("${services.notifications.url}")
     private String notificationServiceUrl;
 
-    public NotificationServiceClient(RestClient restClient) {
+    public NotificationServiceClient(RestClient restClient,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${nutrition.notifications.circuit-breaker.failure-rate-threshold}") float failureRateThreshold,
+                                     @Value("${nutrition.notifications.circuit-breaker.sliding-window-size}") int slidingWindowSize,
+                                     @Value("${nutrition.notifications.circuit-breaker.wait-in-open-state}") Duration waitInOpenState,
+                                     @Value("${nutrition.notifications.bulkhead.max-concurrent-calls}") int maxConcurrentCalls,
+                                     @Value("${nutrition.notifications.bulkhead.max-wait}") Duration maxWait) {
         this.restClient = restClient;
+
+        var circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(Math.max(1, slidingWindowSize / 2))
+                .waitDurationInOpenState(waitInOpenState)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build());
+        var bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+        this.circuitBreaker = circuitBreakers.circuitBreaker(SERVICE);
+        this.bulkhead = bulkheads.bulkhead(SERVICE);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
     }
 
     public boolean sendNotification(Long userId, String message) {
         try {
-            String url = notificationServiceUrl + "/api/v1/notifications";
-
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("userId", userId);
-            requestBody.put("type", "EMAIL");
-            requestBody.put("message", message);
-            requestBody.put("sentDate", LocalDate.now().toString());
-
-            restClient.post()
-                    .uri(url)
-                    .header("Content-Type", "application/json")
-                    .body(requestBody)
-                    .retrieve()
-                    .toBodilessEntity();
-
-            System.out.println("✅ Notification sent successfully to user: " + userId);
+            Bulkhead.decorateRunnable(bulkhead, CircuitBreaker.decorateRunnable(circuitBreaker, () -> post(userId, message)))
+                    .run();
+            LOGGER.debug("Notification sent to user {}", userId);
             return true;
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            FAILURES.warn("unavailable", "Notification to user {} not sent: {}", userId, e.getMessage());
+            return false;
         } catch (Exception e) {
-            System.err.println("❌ Error sending notification: " + e.getMessage());
+            FAILURES.warn("failed", "Notification to user {} failed: {}", userId, e.toString());
             return false;
         }
     }
+
+    private void post(Long userId, String message) {
+        String url = notificationServiceUrl + "/api/v1/notifications";
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("userId", userId);
+        requestBody.put("type", "EMAIL");
+        requestBody.put("message", message);
+        requestBody.put("sentDate", LocalDate.now().toString());
+
+        restClient.post()
+                .uri(url)
+                .header("Content-Type", "application/json")
+                .body(requestBody)
+                .retrieve()
+                .toBodilessEntity();
+    }
 }
@@ -0,0 +1,36 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.DailyNutritionSummary;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DailyNutritionSummaryRepository extends JpaRepository<DailyNutritionSummary, Long> {
+    Optional<DailyNutritionSummary> findByResidentIdAndSummaryDate(Long residentId, LocalDate summaryDate);
+    List<DailyNutritionSummary> findByResidentIdAndSummaryDateBetweenOrderBySummaryDateAsc(Long residentId,
+                                                                                          LocalDate from,
+                                                                                          LocalDate to);
+    List<DailyNutritionSummary> findBySummaryDateAndIdGreaterThanOrderByIdAsc(LocalDate summaryDate, Long after, Limit limit);
+
+    // Summaries with a (resident, day) key after the first key and up to and including the last one
+    @Query("""
+            select s from DailyNutritionSummary s
+            where (s.residentId > :fromResidentId or (s.residentId = :fromResidentId and s.summaryDate > :fromDate))
+              and (s.residentId < :toResidentId or (s.residentId = :toResidentId and s.summaryDate <= :toDate))
+            """)
+    List<DailyNutritionSummary> findByKeyRange(Long fromResidentId, LocalDate fromDate, Long toResidentId, LocalDate toDate);
+
+    @Modifying
+    @Query("""
+            delete from DailyNutritionSummary s
+            where s.residentId > :residentId or (s.residentId = :residentId and s.summaryDate > :date)
+            """)
+    int deleteAfter(Long residentId, LocalDate date);
+}
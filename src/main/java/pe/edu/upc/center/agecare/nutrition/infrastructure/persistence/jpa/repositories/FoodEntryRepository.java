@@ -1,16 +1,88 @@
 package pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.DailyNutritionTotals;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryVersion;
 import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface FoodEntryRepository extends JpaRepository<FoodEntry, Long> {
+public interface FoodEntryRepository extends JpaRepository<FoodEntry, Long>, FoodEntryRepositoryCustom {
     List<FoodEntry> findByResidentId(Long residentId);
-    List<FoodEntry> findByDate(String date);
+    List<FoodEntry> findByDate(LocalDate date);
     List<FoodEntry> findByMeal(MealType meal);
     List<FoodEntry> findByAddedById(Long addedById);
+
+    // Keyset pages: rows after the given id, in id order
+    List<FoodEntry> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+    List<FoodEntry> findByResidentIdAndIdGreaterThanOrderByIdAsc(Long residentId, Long after, Limit limit);
+    List<FoodEntry> findByDateAndIdGreaterThanOrderByIdAsc(LocalDate date, Long after, Limit limit);
+    List<FoodEntry> findByMealAndIdGreaterThanOrderByIdAsc(MealType meal, Long after, Limit limit);
+
+    // Read through a server-side cursor (requires useCursorFetch=true on MySQL) instead of buffering the result set
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<FoodEntry> streamByIdGreaterThanOrderByIdAsc(Long after);
+
+    @Query("""
+            select new pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryVersion(f.id, f.version, f.updatedAt)
+            from FoodEntry f where f.id = :id
+            """)
+    Optional<FoodEntryVersion> findVersionById(Long id);
+
+    String DAILY_NUTRITION_TOTALS = """
+            select new pe.edu.upc.center.agecare.nutrition.domain.model.projections.DailyNutritionTotals(
+                f.residentId, f.date,
+                sum(case when f.meal = pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType.BREAKFAST then 1 else 0 end),
+                sum(case when f.meal = pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType.LUNCH then 1 else 0 end),
+                sum(case when f.meal = pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType.DINNER then 1 else 0 end),
+                min(f.time), max(f.time), count(distinct f.addedById))
+            from FoodEntry f
+            """;
+
+    @Query(DAILY_NUTRITION_TOTALS + "where f.residentId = :residentId and f.date = :date group by f.residentId, f.date")
+    Optional<DailyNutritionTotals> findDailyNutritionTotals(Long residentId, LocalDate date);
+
+    // Keyset over (resident, day): totals of the days after the given resident and date, in key order
+    @Query(DAILY_NUTRITION_TOTALS + """
+            where f.residentId > :residentId or (f.residentId = :residentId and f.date > :date)
+            group by f.residentId, f.date
+            order by f.residentId, f.date
+            """)
+    List<DailyNutritionTotals> findDailyNutritionTotalsAfter(Long residentId, LocalDate date, Limit limit);
+
+    // Keyset over the residents active in the window (any entry since the given date), in id order, read from
+    // idx_food_entries_resident_id_date
+    @Query("""
+            select distinct f.residentId from FoodEntry f
+            where f.residentId > :after and f.date >= :since and f.date <= :date
+            order by f.residentId
+            """)
+    List<Long> findActiveResidentIdsAfter(LocalDate since, LocalDate date, long after, Limit limit);
+
+    // Residents active in the window (any entry since the given date) without an entry for the meal on the date,
+    // restricted to one range of resident ids so the scan stays within that range of idx_food_entries_resident_id_date
+    @Query("""
+            select distinct f.residentId from FoodEntry f
+            where f.residentId between :firstResidentId and :lastResidentId
+              and f.date >= :since and f.date <= :date
+              and not exists (
+                  select 1 from FoodEntry m
+                  where m.residentId = f.residentId and m.date = :date and m.meal = :meal)
+            """)
+    List<Long> findResidentIdsWithoutMeal(LocalDate since, LocalDate date, MealType meal,
+                                          long firstResidentId, long lastResidentId);
 }
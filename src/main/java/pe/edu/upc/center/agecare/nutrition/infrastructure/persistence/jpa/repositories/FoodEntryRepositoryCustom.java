@@ -0,0 +1,14 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories;
+
+import org.springframework.data.domain.Limit;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryPageVersion;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryView;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryCriteria;
+
+import java.util.List;
+
+public interface FoodEntryRepositoryCustom {
+    List<FoodEntryView> search(FoodEntryCriteria criteria, Long after, Limit limit);
+    FoodEntryPageVersion pageVersion(FoodEntryCriteria criteria, Long after, Limit limit);
+    List<FoodEntryView> searchDescriptions(String text, FoodEntryCriteria criteria, int offset, Limit limit);
+}
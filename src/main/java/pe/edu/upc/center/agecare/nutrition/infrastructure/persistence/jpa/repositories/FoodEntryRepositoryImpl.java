@@ -0,0 +1,204 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Limit;
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryPageVersion;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryView;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryCriteria;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Criteria API queries behind {@link FoodEntryRepositoryCustom}. Every filter combination runs as a single
+ * statement selecting only the columns of {@link FoodEntryView}, or only the page fingerprint. Description
+ * search is native, since it needs MySQL's FULLTEXT index.
+ */
+class FoodEntryRepositoryImpl implements FoodEntryRepositoryCustom {
+    // InnoDB's default innodb_ft_min_token_size: shorter words are not indexed and would never match
+    private static final int MIN_TOKEN_SIZE = 3;
+
+    private final EntityManager entityManager;
+
+    FoodEntryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<FoodEntryView> search(FoodEntryCriteria criteria, Long after, Limit limit) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(FoodEntryView.class);
+        var foodEntry = query.from(FoodEntry.class);
+
+        var predicates = predicates(builder, foodEntry, criteria);
+        if (after != null) {
+            predicates.add(builder.greaterThan(foodEntry.get("id"), after));
+        }
+
+        query.select(builder.construct(FoodEntryView.class,
+                        foodEntry.get("id"),
+                        foodEntry.get("meal"),
+                        foodEntry.get("description"),
+                        foodEntry.get("date"),
+                        foodEntry.get("time"),
+                        foodEntry.get("createdAt"),
+                        foodEntry.get("addedBy"),
+                        foodEntry.get("addedById"),
+                        foodEntry.get("residentId"),
+                        foodEntry.get("updatedAt"),
+                        foodEntry.get("version")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(builder.asc(foodEntry.get("id")));
+
+        var typedQuery = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+        return typedQuery.getResultList();
+    }
+
+    // Aggregates over a derived table holding just the page, so the cost is bounded by the limit and no entity
+    // is loaded; MySQL does not allow LIMIT inside an IN subquery
+    @Override
+    public FoodEntryPageVersion pageVersion(FoodEntryCriteria criteria, Long after, Limit limit) {
+        var builder = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(FoodEntryPageVersion.class);
+
+        var page = query.subquery(Tuple.class);
+        var foodEntry = page.from(FoodEntry.class);
+        var predicates = predicates(builder, foodEntry, criteria);
+        if (after != null) {
+            predicates.add(builder.greaterThan(foodEntry.get("id"), after));
+        }
+        page.multiselect(foodEntry.get("updatedAt").alias("updatedAt"), foodEntry.get("version").alias("version"))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(builder.asc(foodEntry.get("id")));
+        if (limit.isLimited()) {
+            page.fetch(limit.max());
+        }
+
+        var pageEntry = query.from(page);
+        query.select(builder.construct(FoodEntryPageVersion.class,
+                builder.count(builder.literal(1)),
+                builder.greatest(pageEntry.<Date>get("updatedAt")),
+                builder.coalesce(builder.sum(pageEntry.<Long>get("version")), 0L)));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // The MATCH in the ORDER BY is the one in the WHERE clause, so MySQL ranks with the score it already computed
+    @Override
+    public List<FoodEntryView> searchDescriptions(String text, FoodEntryCriteria criteria, int offset, Limit limit) {
+        var terms = booleanModeTerms(text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        var sql = new StringBuilder("select id, meal, description, date, time, created_at, added_by, added_by_id, "
+                + "resident_id, updated_at, version from food_entries "
+                + "where match (description) against (:terms in boolean mode)");
+        if (criteria.residentIds() != null && !criteria.residentIds().isEmpty()) {
+            sql.append(" and resident_id in (:residentIds)");
+        }
+        if (criteria.from() != null) {
+            sql.append(" and date >= :from");
+        }
+        if (criteria.to() != null) {
+            sql.append(" and date <= :to");
+        }
+        if (criteria.mealTypes() != null && !criteria.mealTypes().isEmpty()) {
+            sql.append(" and meal in (:mealTypes)");
+        }
+        if (criteria.addedById() != null) {
+            sql.append(" and added_by_id = :addedById");
+        }
+        sql.append(" order by match (description) against (:terms in boolean mode) desc, id");
+
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql.toString()).unwrap(NativeQuery.class);
+        query.addScalar("id", Long.class)
+                .addScalar("meal", String.class)
+                .addScalar("description", String.class)
+                .addScalar("date", LocalDate.class)
+                .addScalar("time", LocalTime.class)
+                .addScalar("created_at", Date.class)
+                .addScalar("added_by", String.class)
+                .addScalar("added_by_id", Long.class)
+                .addScalar("resident_id", Long.class)
+                .addScalar("updated_at", Date.class)
+                .addScalar("version", Long.class);
+        query.setParameter("terms", terms);
+        if (criteria.residentIds() != null && !criteria.residentIds().isEmpty()) {
+            query.setParameterList("residentIds", criteria.residentIds());
+        }
+        if (criteria.from() != null) {
+            query.setParameter("from", criteria.from());
+        }
+        if (criteria.to() != null) {
+            query.setParameter("to", criteria.to());
+        }
+        if (criteria.mealTypes() != null && !criteria.mealTypes().isEmpty()) {
+            query.setParameterList("mealTypes", criteria.mealTypes().stream().map(MealType::name).toList());
+        }
+        if (criteria.addedById() != null) {
+            query.setParameter("addedById", criteria.addedById());
+        }
+        query.setFirstResult(offset);
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        return query.getResultList().stream()
+                .map(row -> new FoodEntryView((Long) row[0], MealType.valueOf((String) row[1]), (String) row[2],
+                        (LocalDate) row[3], (LocalTime) row[4], (Date) row[5], (String) row[6], (Long) row[7],
+                        (Long) row[8], (Date) row[9], (Long) row[10]))
+                .toList();
+    }
+
+    // Every word is required and matched as a prefix, and a hyphenated word such as "lactose-free" becomes a
+    // phrase. Only letters and digits are kept, so no input can be a boolean-mode syntax error
+    static String booleanModeTerms(String text) {
+        var terms = new StringJoiner(" ");
+        for (var word : text.trim().split("\\s+")) {
+            var parts = Arrays.stream(word.split("[^\\p{L}\\p{N}]+"))
+                    .filter(part -> part.length() >= MIN_TOKEN_SIZE)
+                    .toList();
+            if (parts.size() == 1) {
+                terms.add("+" + parts.get(0) + "*");
+            } else if (parts.size() > 1) {
+                terms.add("+\"" + String.join(" ", parts) + "\"");
+            }
+        }
+        return terms.toString();
+    }
+
+    private static List<Predicate> predicates(CriteriaBuilder builder, Root<FoodEntry> foodEntry, FoodEntryCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.residentIds() != null && !criteria.residentIds().isEmpty()) {
+            predicates.add(foodEntry.get("residentId").in(criteria.residentIds()));
+        }
+        if (criteria.from() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(foodEntry.get("date"), criteria.from()));
+        }
+        if (criteria.to() != null) {
+            predicates.add(builder.lessThanOrEqualTo(foodEntry.get("date"), criteria.to()));
+        }
+        if (criteria.mealTypes() != null && !criteria.mealTypes().isEmpty()) {
+            predicates.add(foodEntry.get("meal").in(criteria.mealTypes()));
+        }
+        if (criteria.addedById() != null) {
+            predicates.add(builder.equal(foodEntry.get("addedById"), criteria.addedById()));
+        }
+        return predicates;
+    }
+}
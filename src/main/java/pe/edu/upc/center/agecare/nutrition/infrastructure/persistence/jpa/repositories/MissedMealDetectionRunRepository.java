@@ -0,0 +1,13 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import pe.edu.upc.center.agecare.nutrition.domain.model.entities.MissedMealDetectionRun;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+
+import java.time.LocalDate;
+
+@Repository
+public interface MissedMealDetectionRunRepository extends JpaRepository<MissedMealDetectionRun, Long> {
+    boolean existsByDetectionDateAndMeal(LocalDate detectionDate, MealType meal);
+}
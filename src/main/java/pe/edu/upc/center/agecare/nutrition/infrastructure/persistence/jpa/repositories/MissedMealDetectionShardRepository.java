@@ -0,0 +1,15 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import pe.edu.upc.center.agecare.nutrition.domain.model.entities.MissedMealDetectionShard;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MissedMealDetectionShardRepository extends JpaRepository<MissedMealDetectionShard, Long> {
+    List<MissedMealDetectionShard> findByDetectionDateAndMealOrderByFirstResidentIdAsc(LocalDate detectionDate,
+                                                                                      MealType meal);
+}
@@ -0,0 +1,29 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import pe.edu.upc.center.agecare.nutrition.domain.model.entities.NotificationOutboxMessage;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.NotificationOutboxStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxMessageRepository extends JpaRepository<NotificationOutboxMessage, Long> {
+
+    // A lock timeout of -2 is Hibernate's SKIP LOCKED, so concurrent relays claim disjoint batches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select m from NotificationOutboxMessage m where m.status = :status and m.availableAt <= :now order by m.id")
+    List<NotificationOutboxMessage> findClaimable(@Param("status") NotificationOutboxStatus status,
+                                                  @Param("now") Instant now,
+                                                  Limit limit);
+
+    @Modifying
+    @Query("delete from NotificationOutboxMessage m where m.status = :status and m.sentAt < :before")
+    int deleteByStatusAndSentAtBefore(@Param("status") NotificationOutboxStatus status, @Param("before") Instant before);
+}
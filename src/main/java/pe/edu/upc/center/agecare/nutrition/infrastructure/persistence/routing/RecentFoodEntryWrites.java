@@ -0,0 +1,55 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.caching.FoodEntryCacheInvalidation;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.caching.FoodEntryCacheInvalidationChannel;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Residents, days and food entries written within the read-your-writes window. Reads about them stay on the primary
+ * until the window has passed, by which time the replicas are expected to have caught up. Writes made by other
+ * instances arrive through the cache invalidation channel and open the same window here.
+ */
+@Component
+public class RecentFoodEntryWrites {
+    private static final long MAXIMUM_SIZE = 100_000;
+
+    private final Cache<Long, Boolean> residentIds;
+    private final Cache<Long, Boolean> foodEntryIds;
+    private final Cache<LocalDate, Boolean> dates;
+
+    public RecentFoodEntryWrites(FoodEntryCacheInvalidationChannel invalidationChannel,
+                                 @Value("${nutrition.datasource.replicas.read-your-writes-window}") Duration window) {
+        this.residentIds = Caffeine.newBuilder().maximumSize(MAXIMUM_SIZE).expireAfterWrite(window).build();
+        this.foodEntryIds = Caffeine.newBuilder().maximumSize(MAXIMUM_SIZE).expireAfterWrite(window).build();
+        this.dates = Caffeine.newBuilder().maximumSize(MAXIMUM_SIZE).expireAfterWrite(window).build();
+        invalidationChannel.subscribe(this::record);
+    }
+
+    public void record(FoodEntryCacheInvalidation write) {
+        if (write.residentId() != null) {
+            residentIds.put(write.residentId(), Boolean.TRUE);
+        }
+        if (write.foodEntryId() != null) {
+            foodEntryIds.put(write.foodEntryId(), Boolean.TRUE);
+        }
+        write.dates().forEach(date -> dates.put(date, Boolean.TRUE));
+    }
+
+    public boolean ofResident(Long residentId) {
+        return residentId != null && residentIds.getIfPresent(residentId) != null;
+    }
+
+    public boolean ofDate(LocalDate date) {
+        return date != null && dates.getIfPresent(date) != null;
+    }
+
+    public boolean ofFoodEntry(Long foodEntryId) {
+        return foodEntryId != null && foodEntryIds.getIfPresent(foodEntryId) != null;
+    }
+}
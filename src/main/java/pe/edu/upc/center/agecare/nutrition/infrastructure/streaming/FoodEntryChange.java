@@ -0,0 +1,14 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.streaming;
+
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.FoodEntryResource;
+
+import java.time.LocalDate;
+
+/**
+ * A committed food entry change, numbered in commit order. {@code previousDate} is the day an updated entry
+ * was moved from, so subscribers to that day learn it left. The entry is the resource sent to subscribers, taken
+ * when the change was published, so the replay buffer never holds on to a live entity.
+ */
+public record FoodEntryChange(long sequence, FoodEntryChangeType type, FoodEntryResource foodEntry,
+                              LocalDate previousDate) {
+}
@@ -0,0 +1,16 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.streaming;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Which changes a subscriber receives; null components are not applied.
+ */
+public record FoodEntryChangeFilter(Long residentId, LocalDate date) {
+
+    public boolean matches(FoodEntryChange change) {
+        var foodEntry = change.foodEntry();
+        return (residentId == null || residentId.equals(foodEntry.residentId()))
+                && (date == null || date.equals(foodEntry.date()) || Objects.equals(date, change.previousDate()));
+    }
+}
@@ -0,0 +1,17 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.streaming;
+
+import java.io.IOException;
+
+/**
+ * Receives one subscriber's changes, always from that subscriber's own thread. Throwing ends the subscription.
+ */
+public interface FoodEntryChangeListener {
+    void onChange(String eventId, FoodEntryChange change) throws IOException;
+
+    // Changes were dropped; the subscriber should reload what it shows and carry on from this event id
+    void onResync(String eventId) throws IOException;
+
+    void onHeartbeat() throws IOException;
+
+    void onClose();
+}
@@ -0,0 +1,225 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.streaming;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.transform.FoodEntryResourceFromEntityAssembler;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans committed food entry changes out to subscribers. Every subscriber has a bounded buffer drained by its own
+ * virtual thread, so an idle subscriber costs a parked thread and a slow one never holds up the writer: when its
+ * buffer is full the buffered changes are dropped and it is told to resync instead.
+ * <p>
+ * The latest changes are kept for replay, so a subscriber that reconnects with the last event id it saw receives
+ * what it missed. Event ids carry this process's start, so an id from before a restart, or one older than the
+ * replay window, gets a resync. Changes committed on other instances are not seen here.
+ */
+@Component
+public class FoodEntryChangeStream {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FoodEntryChangeStream.class);
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<FoodEntryChange> replay;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final int replayCapacity;
+    private final Duration heartbeatInterval;
+
+    private final Counter resyncs;
+
+    private long sequence;
+
+    public FoodEntryChangeStream(MeterRegistry meterRegistry,
+                                 @Value("${nutrition.stream.max-subscribers}") int maxSubscribers,
+                                 @Value("${nutrition.stream.subscriber-buffer}") int bufferSize,
+                                 @Value("${nutrition.stream.replay-capacity}") int replayCapacity,
+                                 @Value("${nutrition.stream.heartbeat-interval}") Duration heartbeatInterval) {
+        this.replay = new ArrayDeque<>(replayCapacity);
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.replayCapacity = replayCapacity;
+        this.heartbeatInterval = heartbeatInterval;
+
+        meterRegistry.gauge("nutrition.stream.subscribers", subscriptions, Set::size);
+        this.resyncs = meterRegistry.counter("nutrition.stream.resyncs");
+    }
+
+    // Numbering and hand-off happen under one lock, so every subscriber sees changes in sequence order and a
+    // subscription never misses or repeats a change published while it was being set up
+    public void publish(FoodEntryChangeType type, FoodEntry foodEntry, LocalDate previousDate) {
+        var resource = FoodEntryResourceFromEntityAssembler.toResourceFromEntity(foodEntry);
+        lock.lock();
+        try {
+            var change = new FoodEntryChange(++sequence, type, resource, previousDate);
+            if (replayCapacity > 0) {
+                if (replay.size() == replayCapacity) {
+                    replay.removeFirst();
+                }
+                replay.addLast(change);
+            }
+            subscriptions.forEach(subscription -> subscription.offer(change));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Subscribes to the changes matching the filter, replaying those after {@code lastEventId} when it is given.
+     * Empty when the subscriber limit is reached.
+     */
+    public Optional<Subscription> subscribe(FoodEntryChangeFilter filter, String lastEventId,
+                                            FoodEntryChangeListener listener) {
+        lock.lock();
+        try {
+            if (subscriptions.size() >= maxSubscribers) {
+                return Optional.empty();
+            }
+            var subscription = new Subscription(filter, listener);
+            if (lastEventId != null) {
+                var resumeAfter = sequenceOf(lastEventId);
+                var oldestRetained = replay.isEmpty() ? sequence + 1 : replay.peekFirst().sequence();
+                if (resumeAfter < oldestRetained - 1 || resumeAfter > sequence) {
+                    subscription.resync(sequence);
+                } else {
+                    replay.stream()
+                            .filter(change -> change.sequence() > resumeAfter)
+                            .forEach(subscription::offer);
+                }
+            }
+            subscriptions.add(subscription);
+            subscription.start();
+            return Optional.of(subscription);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Ends every stream before the web server's graceful shutdown starts, which would otherwise wait for them to
+    // time out; clients reconnect elsewhere with their last event id
+    @EventListener(ContextClosedEvent.class)
+    void stop() {
+        List.copyOf(subscriptions).forEach(Subscription::end);
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // Ids from another process or that do not parse resume from nothing, which always resyncs
+    private long sequenceOf(String eventId) {
+        var separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public final class Subscription implements AutoCloseable {
+        private final FoodEntryChangeFilter filter;
+        private final FoodEntryChangeListener listener;
+        private final BlockingQueue<FoodEntryChange> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicLong resyncAt = new AtomicLong(-1);
+        private final AtomicBoolean open = new AtomicBoolean(true);
+        private volatile Thread sender;
+
+        private Subscription(FoodEntryChangeFilter filter, FoodEntryChangeListener listener) {
+            this.filter = filter;
+            this.listener = listener;
+        }
+
+        /**
+         * Stops delivery once the subscriber has gone away. The listener is not called back.
+         */
+        @Override
+        public void close() {
+            stopSending();
+        }
+
+        private void start() {
+            sender = Thread.ofVirtual().name("food-entry-stream").start(this::send);
+        }
+
+        // Called with the stream lock held, so it must never block
+        private void offer(FoodEntryChange change) {
+            if (filter.matches(change) && !buffer.offer(change)) {
+                resync(change.sequence());
+            }
+        }
+
+        private void resync(long at) {
+            resyncAt.set(at);
+            buffer.clear();
+            resyncs.increment();
+        }
+
+        private void send() {
+            try {
+                while (open.get()) {
+                    var change = buffer.poll(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    var resyncedAt = resyncAt.getAndSet(-1);
+                    if (resyncedAt >= 0) {
+                        listener.onResync(eventId(resyncedAt));
+                    }
+                    // A change taken just before the buffer was dropped is already covered by the resync
+                    if (change != null && change.sequence() > resyncedAt) {
+                        listener.onChange(eventId(change.sequence()), change);
+                    } else if (change == null && resyncedAt < 0) {
+                        listener.onHeartbeat();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                LOGGER.atDebug().setMessage("Food entry change subscriber went away")
+                        .addKeyValue("cause", e.getMessage())
+                        .log();
+                end();
+            }
+        }
+
+        // Ended from this side, at shutdown or after a failed send, so the listener is told to close the connection
+        private void end() {
+            if (stopSending()) {
+                listener.onClose();
+            }
+        }
+
+        private boolean stopSending() {
+            if (!open.compareAndSet(true, false)) {
+                return false;
+            }
+            subscriptions.remove(this);
+            if (Thread.currentThread() != sender) {
+                sender.interrupt();
+            }
+            return true;
+        }
+    }
+}
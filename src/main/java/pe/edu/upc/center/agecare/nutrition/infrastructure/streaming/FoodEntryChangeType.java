@@ -0,0 +1,6 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.streaming;
+
+public enum FoodEntryChangeType {
+    CREATED,
+    UPDATED
+}
@@ -0,0 +1,127 @@
+package pe.edu.upc.center.agecare.nutrition.interfaces.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.RebuildDailyNutritionSummariesCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetDailyNutritionSummariesByDateQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetDailyNutritionSummariesByResidentIdQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetDailyNutritionSummaryByResidentIdAndDateQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.services.DailyNutritionSummaryCommandService;
+import pe.edu.upc.center.agecare.nutrition.domain.services.DailyNutritionSummaryQueryService;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.DailyNutritionSummaryResource;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.transform.DailyNutritionSummaryResourceFromEntityAssembler;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping(value = "/api/v1/daily-nutrition-summaries", produces = MediaType.APPLICATION_JSON_VALUE)
+@Tag(name = "Daily Nutrition Summaries", description = "Per resident, per day meal summary endpoints")
+public class DailyNutritionSummaryController {
+    private final DailyNutritionSummaryCommandService dailyNutritionSummaryCommandService;
+    private final DailyNutritionSummaryQueryService dailyNutritionSummaryQueryService;
+    private final int maxPageSize;
+
+    public DailyNutritionSummaryController(DailyNutritionSummaryCommandService dailyNutritionSummaryCommandService,
+                                           DailyNutritionSummaryQueryService dailyNutritionSummaryQueryService,
+                                           @Value("${nutrition.pagination.max-limit}") int maxPageSize) {
+        this.dailyNutritionSummaryCommandService = dailyNutritionSummaryCommandService;
+        this.dailyNutritionSummaryQueryService = dailyNutritionSummaryQueryService;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Operation(summary = "Get a resident's summary for a day",
+            description = "Get the meal counts, first and last entry time and author count of a resident on a day")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Summary found"),
+            @ApiResponse(responseCode = "404", description = "No food entries for the resident on that day")
+    })
+    @GetMapping("/resident/{residentId}/date/{date}")
+    public ResponseEntity<DailyNutritionSummaryResource> getDailyNutritionSummary(
+            @PathVariable Long residentId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        var query = new GetDailyNutritionSummaryByResidentIdAndDateQuery(residentId, date);
+        var summary = dailyNutritionSummaryQueryService.handle(query);
+
+        if (summary.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(DailyNutritionSummaryResourceFromEntityAssembler.toResourceFromEntity(summary.get()));
+    }
+
+    @Operation(summary = "Get a resident's summaries over a date range",
+            description = "Get the daily summaries of a resident between from and to (inclusive), in date order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Summaries found"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    @GetMapping("/resident/{residentId}")
+    public ResponseEntity<List<DailyNutritionSummaryResource>> getDailyNutritionSummariesByResidentId(
+            @PathVariable Long residentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        var query = new GetDailyNutritionSummariesByResidentIdQuery(residentId, from, to);
+        var summaryResources = dailyNutritionSummaryQueryService.handle(query).stream()
+                .map(DailyNutritionSummaryResourceFromEntityAssembler::toResourceFromEntity)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(summaryResources);
+    }
+
+    @Operation(summary = "Get all residents' summaries for a day",
+            description = "Get the summaries of every resident with food entries on a day. Pass limit (and the last id seen as after) to page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Summaries found"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit")
+    })
+    @GetMapping("/date/{date}")
+    public ResponseEntity<List<DailyNutritionSummaryResource>> getDailyNutritionSummariesByDate(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        if (limit != null && limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        var query = new GetDailyNutritionSummariesByDateQuery(date, after, limit != null ? Math.min(limit, maxPageSize) : null);
+        var summaryResources = dailyNutritionSummaryQueryService.handle(query).stream()
+                .map(DailyNutritionSummaryResourceFromEntityAssembler::toResourceFromEntity)
+                .collect(Collectors.toList());
+
+        if (query.limit() == null || summaryResources.size() < query.limit()) {
+            return ResponseEntity.ok(summaryResources);
+        }
+        var next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", summaryResources.get(summaryResources.size() - 1).id())
+                .replaceQueryParam("limit", query.limit())
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(summaryResources);
+    }
+
+    @Operation(summary = "Rebuild all summaries",
+            description = "Recompute every summary from the food entries in chunks, in the background")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Rebuild started"),
+            @ApiResponse(responseCode = "409", description = "A rebuild is already running")
+    })
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuildDailyNutritionSummaries() {
+        var started = dailyNutritionSummaryCommandService.handle(new RebuildDailyNutritionSummariesCommand());
+        return new ResponseEntity<>(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT);
+    }
+}
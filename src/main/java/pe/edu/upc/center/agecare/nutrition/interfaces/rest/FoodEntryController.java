@@ -1,38 +1,83 @@
 package pe.edu.upc.center.agecare.nutrition.interfaces.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryPageVersion;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryVersion;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryView;
 import pe.edu.upc.center.agecare.nutrition.domain.model.queries.*;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryBatchItemResult;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryBatchItemStatus;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryCriteria;
 import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.ExportFoodEntriesCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.ImportFoodEntriesCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryImportFormat;
 import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryCommandService;
+import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryExportCommandService;
+import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryImportCommandService;
 import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryQueryService;
 import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.CreateFoodEntryResource;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.FoodEntryBatchItemResultResource;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.FoodEntryExportResource;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.FoodEntryImportResource;
 import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.FoodEntryResource;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.UpdateFoodEntryBatchItemResource;
 import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.UpdateFoodEntryResource;
-import pe.edu.upc.center.agecare.nutrition.interfaces.rest.transform.CreateFoodEntryCommandFromResourceAssembler;
-import pe.edu.upc.center.agecare.nutrition.interfaces.rest.transform.FoodEntryResourceFromEntityAssembler;
-import pe.edu.upc.center.agecare.nutrition.interfaces.rest.transform.UpdateFoodEntryCommandFromResourceAssembler;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.transform.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(value = "/api/v1/food-entries", produces = MediaType.APPLICATION_JSON_VALUE)
 @Tag(name = "Food Entries", description = "Food Entry Management Endpoints")
 public class FoodEntryController {
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final FoodEntryCommandService foodEntryCommandService;
     private final FoodEntryQueryService foodEntryQueryService;
+    private final FoodEntryExportCommandService foodEntryExportCommandService;
+    private final FoodEntryImportCommandService foodEntryImportCommandService;
+    private final ObjectMapper objectMapper;
+    private final int maxPageSize;
+    private final int maxBatchSize;
 
     public FoodEntryController(FoodEntryCommandService foodEntryCommandService,
-                               FoodEntryQueryService foodEntryQueryService) {
+                               FoodEntryQueryService foodEntryQueryService,
+                               FoodEntryExportCommandService foodEntryExportCommandService,
+                               FoodEntryImportCommandService foodEntryImportCommandService,
+                               ObjectMapper objectMapper,
+                               @Value("${nutrition.pagination.max-limit}") int maxPageSize,
+                               @Value("${nutrition.batch.max-size}") int maxBatchSize) {
         this.foodEntryCommandService = foodEntryCommandService;
         this.foodEntryQueryService = foodEntryQueryService;
+        this.foodEntryExportCommandService = foodEntryExportCommandService;
+        this.foodEntryImportCommandService = foodEntryImportCommandService;
+        this.objectMapper = objectMapper;
+        this.maxPageSize = maxPageSize;
+        this.maxBatchSize = maxBatchSize;
     }
 
     @Operation(summary = "Create a new food entry", description = "Create a new food entry with the provided data")
@@ -43,14 +88,7 @@ public class FoodEntryController {
     @PostMapping
     public ResponseEntity<FoodEntryResource> createFoodEntry(@RequestBody CreateFoodEntryResource resource) {
         var createFoodEntryCommand = CreateFoodEntryCommandFromResourceAssembler.toCommandFromResource(resource);
-        var foodEntryId = foodEntryCommandService.handle(createFoodEntryCommand);
-        
-        if (foodEntryId == 0L) {
-            return ResponseEntity.badRequest().build();
-        }
-        
-        var getFoodEntryByIdQuery = new GetFoodEntryByIdQuery(foodEntryId);
-        var foodEntry = foodEntryQueryService.handle(getFoodEntryByIdQuery);
+        var foodEntry = foodEntryCommandService.handle(createFoodEntryCommand);
         
         if (foodEntry.isEmpty()) {
             return ResponseEntity.badRequest().build();
@@ -60,27 +98,94 @@ public class FoodEntryController {
         return new ResponseEntity<>(foodEntryResource, HttpStatus.CREATED);
     }
 
-    @Operation(summary = "Get all food entries", description = "Get all food entries")
+    @Operation(summary = "Create food entries in bulk",
+            description = "Create many food entries in one transaction. Each item gets its own result; invalid items are skipped")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Food entries found")
+            @ApiResponse(responseCode = "201", description = "All food entries created"),
+            @ApiResponse(responseCode = "207", description = "Some food entries were rejected, see the item results"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<FoodEntryBatchItemResultResource>> createFoodEntries(
+            @RequestBody List<CreateFoodEntryResource> resources) {
+        if (resources.isEmpty() || resources.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        var createFoodEntriesCommand = CreateFoodEntriesCommandFromResourceAssembler.toCommandFromResources(resources);
+        var results = foodEntryCommandService.handle(createFoodEntriesCommand);
+        return toBatchResponse(results, FoodEntryBatchItemStatus.CREATED, HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Get all food entries",
+            description = "Get all food entries ordered by id. Pass limit (and the last id seen as after) to page through them")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Food entries found"),
+            @ApiResponse(responseCode = "304", description = "Food entries not modified"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit")
     })
     @GetMapping
-    public ResponseEntity<List<FoodEntryResource>> getAllFoodEntries() {
-        var getAllFoodEntriesQuery = new GetAllFoodEntriesQuery();
+    public ResponseEntity<List<FoodEntryResource>> getAllFoodEntries(@RequestParam(required = false) Long after,
+                                                                     @RequestParam(required = false) Integer limit,
+                                                                     WebRequest webRequest) {
+        if (limit != null && limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        var getAllFoodEntriesQuery = new GetAllFoodEntriesQuery(after, pageSize(limit));
+        if (notModified(webRequest, getAllFoodEntriesQuery)) {
+            return null;
+        }
         var foodEntries = foodEntryQueryService.handle(getAllFoodEntriesQuery);
-        var foodEntryResources = foodEntries.stream()
-                .map(FoodEntryResourceFromEntityAssembler::toResourceFromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(foodEntryResources);
+        addValidators(webRequest, FoodEntryPageVersion.of(foodEntries));
+        return toPageResponse(foodEntries, getAllFoodEntriesQuery.limit());
+    }
+
+    @Operation(summary = "Stream all food entries",
+            description = "Stream food entries ordered by id as newline-delimited JSON, read from a database cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Food entries streamed")
+    })
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllFoodEntries(@RequestParam(required = false) Long after,
+                                                                      @RequestParam(required = false) Integer limit) {
+        if (limit != null && limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        var getAllFoodEntriesQuery = new GetAllFoodEntriesQuery(after, limit);
+        StreamingResponseBody body = outputStream -> {
+            try (var writer = objectMapper.writerFor(FoodEntryResource.class)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                foodEntryQueryService.handle(getAllFoodEntriesQuery, foodEntry -> {
+                    try {
+                        writer.write(FoodEntryResourceFromEntityAssembler.toResourceFromEntity(foodEntry));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
     }
 
     @Operation(summary = "Get food entry by id", description = "Get food entry by id")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Food entry found"),
+            @ApiResponse(responseCode = "304", description = "Food entry not modified"),
             @ApiResponse(responseCode = "404", description = "Food entry not found")
     })
     @GetMapping("/{foodEntryId}")
-    public ResponseEntity<FoodEntryResource> getFoodEntryById(@PathVariable Long foodEntryId) {
+    public ResponseEntity<FoodEntryResource> getFoodEntryById(@PathVariable Long foodEntryId, WebRequest webRequest) {
+        if (isConditional(webRequest)) {
+            var version = foodEntryQueryService.handle(new GetFoodEntryVersionQuery(foodEntryId));
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (notModified(webRequest, version.get())) {
+                return null;
+            }
+        }
         var getFoodEntryByIdQuery = new GetFoodEntryByIdQuery(foodEntryId);
         var foodEntry = foodEntryQueryService.handle(getFoodEntryByIdQuery);
         
@@ -88,61 +193,163 @@ public class FoodEntryController {
             return ResponseEntity.notFound().build();
         }
         
-        var foodEntryResource = FoodEntryResourceFromEntityAssembler.toResourceFromEntity(foodEntry.get());
+        addValidators(webRequest, new FoodEntryVersion(foodEntry.get().id(), foodEntry.get().version(),
+                foodEntry.get().updatedAt()));
+        var foodEntryResource = FoodEntryResourceFromViewAssembler.toResourceFromView(foodEntry.get());
         return ResponseEntity.ok(foodEntryResource);
     }
 
     @Operation(summary = "Get food entries by resident id", description = "Get all food entries for a specific resident")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Food entries found")
+            @ApiResponse(responseCode = "200", description = "Food entries found"),
+            @ApiResponse(responseCode = "304", description = "Food entries not modified")
     })
     @GetMapping("/resident/{residentId}")
-    public ResponseEntity<List<FoodEntryResource>> getFoodEntriesByResidentId(@PathVariable Long residentId) {
-        var getFoodEntriesByResidentIdQuery = new GetFoodEntriesByResidentIdQuery(residentId);
+    public ResponseEntity<List<FoodEntryResource>> getFoodEntriesByResidentId(@PathVariable Long residentId,
+                                                                              @RequestParam(required = false) Long after,
+                                                                              @RequestParam(required = false) Integer limit,
+                                                                              WebRequest webRequest) {
+        if (limit != null && limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        var getFoodEntriesByResidentIdQuery = new GetFoodEntriesByResidentIdQuery(residentId, after, pageSize(limit));
+        if (notModified(webRequest, getFoodEntriesByResidentIdQuery)) {
+            return null;
+        }
         var foodEntries = foodEntryQueryService.handle(getFoodEntriesByResidentIdQuery);
-        var foodEntryResources = foodEntries.stream()
-                .map(FoodEntryResourceFromEntityAssembler::toResourceFromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(foodEntryResources);
+        addValidators(webRequest, FoodEntryPageVersion.ofViews(foodEntries));
+        return toViewPageResponse(foodEntries, getFoodEntriesByResidentIdQuery.limit());
     }
 
     @Operation(summary = "Get food entries by date", description = "Get all food entries for a specific date")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Food entries found")
+            @ApiResponse(responseCode = "200", description = "Food entries found"),
+            @ApiResponse(responseCode = "304", description = "Food entries not modified")
     })
     @GetMapping("/date/{date}")
-    public ResponseEntity<List<FoodEntryResource>> getFoodEntriesByDate(@PathVariable String date) {
-        var getFoodEntriesByDateQuery = new GetFoodEntriesByDateQuery(date);
+    public ResponseEntity<List<FoodEntryResource>> getFoodEntriesByDate(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        if (limit != null && limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        var getFoodEntriesByDateQuery = new GetFoodEntriesByDateQuery(date, after, pageSize(limit));
+        if (notModified(webRequest, getFoodEntriesByDateQuery)) {
+            return null;
+        }
         var foodEntries = foodEntryQueryService.handle(getFoodEntriesByDateQuery);
-        var foodEntryResources = foodEntries.stream()
-                .map(FoodEntryResourceFromEntityAssembler::toResourceFromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(foodEntryResources);
+        addValidators(webRequest, FoodEntryPageVersion.ofViews(foodEntries));
+        return toViewPageResponse(foodEntries, getFoodEntriesByDateQuery.limit());
     }
 
     @Operation(summary = "Get food entries by meal type", description = "Get all food entries for a specific meal type")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Food entries found")
+            @ApiResponse(responseCode = "200", description = "Food entries found"),
+            @ApiResponse(responseCode = "304", description = "Food entries not modified")
     })
     @GetMapping("/meal/{mealType}")
-    public ResponseEntity<List<FoodEntryResource>> getFoodEntriesByMealType(@PathVariable String mealType) {
+    public ResponseEntity<List<FoodEntryResource>> getFoodEntriesByMealType(@PathVariable String mealType,
+                                                                            @RequestParam(required = false) Long after,
+                                                                            @RequestParam(required = false) Integer limit,
+                                                                            WebRequest webRequest) {
+        if (limit != null && limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
         try {
             MealType meal = MealType.valueOf(mealType.toUpperCase());
-            var getFoodEntriesByMealTypeQuery = new GetFoodEntriesByMealTypeQuery(meal);
+            var getFoodEntriesByMealTypeQuery = new GetFoodEntriesByMealTypeQuery(meal, after, pageSize(limit));
+            if (notModified(webRequest, getFoodEntriesByMealTypeQuery)) {
+                return null;
+            }
             var foodEntries = foodEntryQueryService.handle(getFoodEntriesByMealTypeQuery);
-            var foodEntryResources = foodEntries.stream()
-                    .map(FoodEntryResourceFromEntityAssembler::toResourceFromEntity)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(foodEntryResources);
+            addValidators(webRequest, FoodEntryPageVersion.ofViews(foodEntries));
+            return toViewPageResponse(foodEntries, getFoodEntriesByMealTypeQuery.limit());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    @Operation(summary = "Search food entries",
+            description = "Get food entries matching all given filters: residents, date range, meal types and author. "
+                    + "Results come in pages of at most the maximum limit, linked by the Link header")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Food entries found"),
+            @ApiResponse(responseCode = "304", description = "Food entries not modified"),
+            @ApiResponse(responseCode = "400", description = "Invalid filters")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<FoodEntryResource>> searchFoodEntries(
+            @RequestParam(name = "residentId", required = false) Set<Long> residentIds,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "meal", required = false) Set<MealType> mealTypes,
+            @RequestParam(required = false) Long addedById,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        if ((limit != null && limit < 1) || (from != null && to != null && from.isAfter(to))) {
+            return ResponseEntity.badRequest().build();
+        }
+        // Unlike the listings, a search without filters would return the whole table, so it is always paged
+        var criteria = new FoodEntryCriteria(residentIds, from, to, mealTypes, addedById);
+        var searchFoodEntriesQuery = new SearchFoodEntriesQuery(criteria, after, limit != null ? pageSize(limit) : maxPageSize);
+        if (notModified(webRequest, searchFoodEntriesQuery)) {
+            return null;
+        }
+        var foodEntryViews = foodEntryQueryService.handle(searchFoodEntriesQuery);
+        addValidators(webRequest, FoodEntryPageVersion.ofViews(foodEntryViews));
+        var foodEntryResources = foodEntryViews.stream()
+                .map(FoodEntryResourceFromViewAssembler::toResourceFromView)
+                .collect(Collectors.toList());
+        return toPage(foodEntryResources, searchFoodEntriesQuery.limit());
+    }
+
+    @Operation(summary = "Search food entry descriptions",
+            description = "Get food entries whose description mentions every word of q, most relevant first, "
+                    + "optionally filtered like /search. Pass offset and limit to page through them")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Food entries found"),
+            @ApiResponse(responseCode = "400", description = "Missing text or invalid filters")
+    })
+    @GetMapping("/search/text")
+    public ResponseEntity<List<FoodEntryResource>> searchFoodEntryDescriptions(
+            @RequestParam String q,
+            @RequestParam(name = "residentId", required = false) Set<Long> residentIds,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "meal", required = false) Set<MealType> mealTypes,
+            @RequestParam(required = false) Long addedById,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) Integer limit) {
+        if (q.isBlank() || offset < 0 || (limit != null && limit < 1) || (from != null && to != null && from.isAfter(to))) {
+            return ResponseEntity.badRequest().build();
+        }
+        // Ranked results cannot be paged by id, so they always come in pages; the page size defaults to the maximum
+        int pageSize = limit != null ? pageSize(limit) : maxPageSize;
+        var criteria = new FoodEntryCriteria(residentIds, from, to, mealTypes, addedById);
+        var searchFoodEntryDescriptionsQuery = new SearchFoodEntryDescriptionsQuery(q, criteria, offset, pageSize);
+        var foodEntryResources = foodEntryQueryService.handle(searchFoodEntryDescriptionsQuery).stream()
+                .map(FoodEntryResourceFromViewAssembler::toResourceFromView)
+                .collect(Collectors.toList());
+        if (foodEntryResources.size() < pageSize) {
+            return ResponseEntity.ok(foodEntryResources);
+        }
+        var next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("offset", offset + pageSize)
+                .replaceQueryParam("limit", pageSize)
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(foodEntryResources);
+    }
+
     @Operation(summary = "Update food entry", description = "Update food entry by id")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Food entry updated"),
-            @ApiResponse(responseCode = "404", description = "Food entry not found")
+            @ApiResponse(responseCode = "404", description = "Food entry not found"),
+            @ApiResponse(responseCode = "409", description = "Food entry was changed concurrently")
     })
     @PutMapping("/{foodEntryId}")
     public ResponseEntity<FoodEntryResource> updateFoodEntry(@PathVariable Long foodEntryId,
@@ -158,5 +365,156 @@ public class FoodEntryController {
         return ResponseEntity.ok(foodEntryResource);
     }
 
+    @Operation(summary = "Update food entries in bulk",
+            description = "Update many food entries by id in one transaction. Each item gets its own result")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "All food entries updated"),
+            @ApiResponse(responseCode = "207", description = "Some food entries were not found or invalid, see the item results"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    })
+    @PutMapping("/batch")
+    public ResponseEntity<List<FoodEntryBatchItemResultResource>> updateFoodEntries(
+            @RequestBody List<UpdateFoodEntryBatchItemResource> resources) {
+        if (resources.isEmpty() || resources.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        var updateFoodEntriesCommand = UpdateFoodEntriesCommandFromResourceAssembler.toCommandFromResources(resources);
+        var results = foodEntryCommandService.handle(updateFoodEntriesCommand);
+        return toBatchResponse(results, FoodEntryBatchItemStatus.UPDATED, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Export food entries",
+            description = "Write the food entries in the date range, optionally of some residents, to a gzip'd CSV "
+                    + "file on the server, in the background")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Export started"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "409", description = "An export is already running")
+    })
+    @PostMapping("/exports")
+    public ResponseEntity<FoodEntryExportResource> exportFoodEntries(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "residentId", required = false) Set<Long> residentIds) {
+        if (from != null && to != null && from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        var file = foodEntryExportCommandService.handle(new ExportFoodEntriesCommand(from, to, residentIds));
+        return file
+                .map(target -> new ResponseEntity<>(new FoodEntryExportResource(target.toString()), HttpStatus.ACCEPTED))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.CONFLICT));
+    }
+
+    @Operation(summary = "Import food entries",
+            description = "Stream a CSV file with a header row, or NDJSON, holding one food entry per record and insert "
+                    + "the valid ones in batches. No notifications are sent for imported entries; rejected records are "
+                    + "reported by line")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, see the counts and rejected lines"),
+            @ApiResponse(responseCode = "400", description = "The CSV header lacks a required column"),
+            @ApiResponse(responseCode = "409", description = "An import is already running")
+    })
+    @PostMapping(value = "/imports", consumes = {TEXT_CSV_VALUE, APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<FoodEntryImportResource> importFoodEntries(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream content) {
+        var format = MediaType.valueOf(APPLICATION_NDJSON_VALUE).isCompatibleWith(contentType)
+                ? FoodEntryImportFormat.NDJSON
+                : FoodEntryImportFormat.CSV;
+        try {
+            var result = foodEntryImportCommandService.handle(new ImportFoodEntriesCommand(format, content));
+            return result
+                    .map(FoodEntryImportResourceFromResultAssembler::toResourceFromResult)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> new ResponseEntity<>(HttpStatus.CONFLICT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Delete endpoint removed intentionally. Deleting food entries is not supported via API.
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleConcurrentUpdate() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    private ResponseEntity<List<FoodEntryBatchItemResultResource>> toBatchResponse(List<FoodEntryBatchItemResult> results,
+                                                                                 FoodEntryBatchItemStatus success,
+                                                                                 HttpStatus allSucceeded) {
+        var resultResources = results.stream()
+                .map(FoodEntryBatchItemResultResourceFromResultAssembler::toResourceFromResult)
+                .collect(Collectors.toList());
+        var status = results.stream().allMatch(result -> result.status() == success) ? allSucceeded : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(resultResources, status);
+    }
+
+    // A request with validators is checked before anything is loaded, so a match costs one version lookup and the
+    // response is a bodiless 304. Any other request takes its ETag and Last-Modified from what it loaded, at no
+    // extra statement
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private boolean notModified(WebRequest webRequest, FoodEntryPageQuery pageQuery) {
+        return isConditional(webRequest)
+                && notModified(webRequest, foodEntryQueryService.handle(new GetFoodEntryPageVersionQuery(pageQuery)));
+    }
+
+    // On a conditional request that did not match, the validators were already set by the version check
+    private static void addValidators(WebRequest webRequest, FoodEntryVersion version) {
+        if (!isConditional(webRequest)) {
+            notModified(webRequest, version);
+        }
+    }
+
+    private static void addValidators(WebRequest webRequest, FoodEntryPageVersion version) {
+        if (!isConditional(webRequest)) {
+            notModified(webRequest, version);
+        }
+    }
+
+    private static boolean notModified(WebRequest webRequest, FoodEntryVersion version) {
+        return webRequest.checkNotModified("\"" + version.id() + "-" + version.version() + "\"",
+                version.updatedAt().getTime());
+    }
+
+    // Weak, since equal fingerprints say the page is equivalent rather than byte-for-byte identical
+    private static boolean notModified(WebRequest webRequest, FoodEntryPageVersion version) {
+        var lastModified = version.lastModified() != null ? version.lastModified().getTime() : -1;
+        return webRequest.checkNotModified("W/\"" + version.count() + "-" + Math.max(lastModified, 0) + "-"
+                + version.versionSum() + "\"", lastModified);
+    }
+
+    private Integer pageSize(Integer limit) {
+        return limit != null ? Math.min(limit, maxPageSize) : null;
+    }
+
+    private ResponseEntity<List<FoodEntryResource>> toPageResponse(List<FoodEntry> foodEntries, Integer limit) {
+        var foodEntryResources = foodEntries.stream()
+                .map(FoodEntryResourceFromEntityAssembler::toResourceFromEntity)
+                .collect(Collectors.toList());
+        return toPage(foodEntryResources, limit);
+    }
+
+    private ResponseEntity<List<FoodEntryResource>> toViewPageResponse(List<FoodEntryView> foodEntryViews, Integer limit) {
+        var foodEntryResources = foodEntryViews.stream()
+                .map(FoodEntryResourceFromViewAssembler::toResourceFromView)
+                .collect(Collectors.toList());
+        return toPage(foodEntryResources, limit);
+    }
+
+    // A full page gets a Link header pointing at the next page, keyed on the last id returned
+    private ResponseEntity<List<FoodEntryResource>> toPage(List<FoodEntryResource> foodEntryResources, Integer limit) {
+        if (limit == null || foodEntryResources.size() < limit) {
+            return ResponseEntity.ok(foodEntryResources);
+        }
+        var next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", foodEntryResources.get(foodEntryResources.size() - 1).id())
+                .replaceQueryParam("limit", limit)
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(foodEntryResources);
+    }
 }
@@ -0,0 +1,90 @@
+package pe.edu.upc.center.agecare.nutrition.interfaces.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.streaming.FoodEntryChange;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.streaming.FoodEntryChangeFilter;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.streaming.FoodEntryChangeListener;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.streaming.FoodEntryChangeStream;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping(value = "/api/v1/food-entries", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+@Tag(name = "Food Entries", description = "Food Entry Management Endpoints")
+public class FoodEntryStreamController {
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final FoodEntryChangeStream foodEntryChangeStream;
+    private final Duration timeout;
+
+    public FoodEntryStreamController(FoodEntryChangeStream foodEntryChangeStream,
+                                     @Value("${nutrition.stream.timeout}") Duration timeout) {
+        this.foodEntryChangeStream = foodEntryChangeStream;
+        this.timeout = timeout;
+    }
+
+    @Operation(summary = "Stream food entry changes",
+            description = "Server-sent events for food entries as they are created (created) or updated (updated), "
+                    + "optionally for one resident or date. Reconnect with Last-Event-ID to receive what was missed; "
+                    + "a resync event means changes were dropped and the list should be reloaded")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Subscribed"),
+            @ApiResponse(responseCode = "503", description = "Too many subscribers")
+    })
+    @GetMapping("/stream")
+    public ResponseEntity<SseEmitter> streamFoodEntryChanges(
+            @RequestParam(required = false) Long residentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestHeader(name = LAST_EVENT_ID, required = false) String lastEventId) {
+        var emitter = new SseEmitter(timeout.toMillis());
+        var subscription = foodEntryChangeStream.subscribe(
+                new FoodEntryChangeFilter(residentId, date), lastEventId, toListener(emitter));
+        if (subscription.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        // The client reconnects on its own after a timeout, resuming from the last id it received
+        emitter.onCompletion(subscription.get()::close);
+        emitter.onTimeout(subscription.get()::close);
+        emitter.onError(error -> subscription.get().close());
+        return ResponseEntity.ok(emitter);
+    }
+
+    private static FoodEntryChangeListener toListener(SseEmitter emitter) {
+        return new FoodEntryChangeListener() {
+            @Override
+            public void onChange(String eventId, FoodEntryChange change) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(eventId)
+                        .name(change.type().name().toLowerCase())
+                        .data(change.foodEntry(), MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onResync(String eventId) throws IOException {
+                emitter.send(SseEmitter.event().id(eventId).name("resync").data(""));
+            }
+
+            @Override
+            public void onHeartbeat() throws IOException {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+
+            @Override
+            public void onClose() {
+                emitter.complete();
+            }
+        };
+    }
+}
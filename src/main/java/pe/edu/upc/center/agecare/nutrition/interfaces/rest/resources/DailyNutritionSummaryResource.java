@@ -0,0 +1,17 @@
+package pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record DailyNutritionSummaryResource(
+        Long id,
+        Long residentId,
+        LocalDate date,
+        int breakfastCount,
+        int lunchCount,
+        int dinnerCount,
+        LocalTime firstEntryTime,
+        LocalTime lastEntryTime,
+        int authorCount
+) {
+}
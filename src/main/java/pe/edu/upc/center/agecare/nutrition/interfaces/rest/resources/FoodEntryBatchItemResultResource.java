@@ -0,0 +1,11 @@
+package pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryBatchItemStatus;
+
+public record FoodEntryBatchItemResultResource(
+        int index,
+        FoodEntryBatchItemStatus status,
+        FoodEntryResource foodEntry,
+        String error
+) {
+}
@@ -0,0 +1,4 @@
+package pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources;
+
+public record FoodEntryExportResource(String file) {
+}
@@ -0,0 +1,11 @@
+package pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources;
+
+import java.util.List;
+
+public record FoodEntryImportResource(
+        long read,
+        long imported,
+        long rejected,
+        List<FoodEntryImportRejectionResource> rejections
+) {
+}
@@ -0,0 +1,15 @@
+package pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record UpdateFoodEntryBatchItemResource(
+        Long id,
+        MealType meal,
+        String description,
+        LocalDate date,
+        LocalTime time
+) {
+}
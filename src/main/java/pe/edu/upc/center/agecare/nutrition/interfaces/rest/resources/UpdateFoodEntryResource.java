@@ -2,10 +2,13 @@ package pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources;
 
 import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+
 public record UpdateFoodEntryResource(
         MealType meal,
         String description,
-        String date,
-        String time
+        LocalDate date,
+        LocalTime time
 ) {
 }
@@ -0,0 +1,15 @@
+package pe.edu.upc.center.agecare.nutrition.interfaces.rest.transform;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntriesCommand;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.CreateFoodEntryResource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class CreateFoodEntriesCommandFromResourceAssembler {
+    public static CreateFoodEntriesCommand toCommandFromResources(List<CreateFoodEntryResource> resources) {
+        return new CreateFoodEntriesCommand(resources.stream()
+                .map(CreateFoodEntryCommandFromResourceAssembler::toCommandFromResource)
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,20 @@
+package pe.edu.upc.center.agecare.nutrition.interfaces.rest.transform;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.DailyNutritionSummary;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.DailyNutritionSummaryResource;
+
+public class DailyNutritionSummaryResourceFromEntityAssembler {
+    public static DailyNutritionSummaryResource toResourceFromEntity(DailyNutritionSummary entity) {
+        return new DailyNutritionSummaryResource(
+                entity.getId(),
+                entity.getResidentId(),
+                entity.getSummaryDate(),
+                entity.getBreakfastCount(),
+                entity.getLunchCount(),
+                entity.getDinnerCount(),
+                entity.getFirstEntryTime(),
+                entity.getLastEntryTime(),
+                entity.getAuthorCount()
+        );
+    }
+}
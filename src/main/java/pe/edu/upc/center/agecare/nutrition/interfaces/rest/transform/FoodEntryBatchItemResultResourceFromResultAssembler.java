@@ -0,0 +1,15 @@
+package pe.edu.upc.center.agecare.nutrition.interfaces.rest.transform;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryBatchItemResult;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.FoodEntryBatchItemResultResource;
+
+public class FoodEntryBatchItemResultResourceFromResultAssembler {
+    public static FoodEntryBatchItemResultResource toResourceFromResult(FoodEntryBatchItemResult result) {
+        return new FoodEntryBatchItemResultResource(
+                result.index(),
+                result.status(),
+                result.foodEntry() != null ? FoodEntryResourceFromEntityAssembler.toResourceFromEntity(result.foodEntry()) : null,
+                result.error()
+        );
+    }
+}
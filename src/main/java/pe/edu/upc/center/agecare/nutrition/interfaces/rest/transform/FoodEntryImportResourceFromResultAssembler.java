@@ -0,0 +1,18 @@
+package pe.edu.upc.center.agecare.nutrition.interfaces.rest.transform;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryImportResult;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.FoodEntryImportRejectionResource;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.FoodEntryImportResource;
+
+public class FoodEntryImportResourceFromResultAssembler {
+    public static FoodEntryImportResource toResourceFromResult(FoodEntryImportResult result) {
+        return new FoodEntryImportResource(
+                result.read(),
+                result.imported(),
+                result.rejected(),
+                result.rejections().stream()
+                        .map(rejection -> new FoodEntryImportRejectionResource(rejection.line(), rejection.reason()))
+                        .toList()
+        );
+    }
+}
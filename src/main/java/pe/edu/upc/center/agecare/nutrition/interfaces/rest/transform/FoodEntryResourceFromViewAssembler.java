@@ -0,0 +1,25 @@
+package pe.edu.upc.center.agecare.nutrition.interfaces.rest.transform;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryView;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.FoodEntryResource;
+
+import java.text.SimpleDateFormat;
+
+public class FoodEntryResourceFromViewAssembler {
+    public static FoodEntryResource toResourceFromView(FoodEntryView view) {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+        String createdAt = view.createdAt() != null ? dateFormat.format(view.createdAt()) : null;
+
+        return new FoodEntryResource(
+                view.id(),
+                view.meal(),
+                view.description(),
+                view.date(),
+                view.time(),
+                createdAt,
+                view.addedBy(),
+                view.addedById(),
+                view.residentId()
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package pe.edu.upc.center.agecare.nutrition.interfaces.rest.transform;
+
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.UpdateFoodEntriesCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.UpdateFoodEntryCommand;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.resources.UpdateFoodEntryBatchItemResource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class UpdateFoodEntriesCommandFromResourceAssembler {
+    public static UpdateFoodEntriesCommand toCommandFromResources(List<UpdateFoodEntryBatchItemResource> resources) {
+        return new UpdateFoodEntriesCommand(resources.stream()
+                .map(resource -> new UpdateFoodEntryCommand(
+                        resource.id(),
+                        resource.meal(),
+                        resource.description(),
+                        resource.date(),
+                        resource.time()))
+                .collect(Collectors.toList()));
+    }
+}
@@ -13,11 +13,17 @@ import java.util.Date;
 @MappedSuperclass
 public class AuditableAbstractAggregateRoot<T extends AbstractAggregateRoot<T>> extends AbstractAggregateRoot<T> {
 
+    // Pooled per-entity sequence (allocation size 50): ids are assigned without an insert, so inserts can be JDBC-batched
     @Id
     @Getter
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
+    @Getter
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Getter
     @CreatedDate
     @Column(nullable = false, updatable = false)
@@ -0,0 +1,71 @@
+package pe.edu.upc.center.agecare.shared.infrastructure.concurrency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one execution. The first caller runs the supplier on its own
+ * thread, so its transaction and read routing apply; callers arriving while it runs wait for and share its result,
+ * or its exception. Nothing is kept once a flight lands.
+ */
+public final class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public V execute(K key, Supplier<V> supplier) {
+        // A plain read first: joining a flight already under way takes no lock
+        var existing = inFlight.get(key);
+        if (existing == null) {
+            var flight = new CompletableFuture<V>();
+            existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                return lead(key, flight, supplier);
+            }
+        }
+        coalesced.increment();
+        try {
+            return existing.join();
+        } catch (CompletionException e) {
+            // The leader only ever fails with what its supplier threw, so hand waiters the same exception
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+        }
+    }
+
+    /**
+     * Stops later callers from joining the matching flights, so they start their own instead of sharing a result
+     * read before a write. Callers already waiting still get it.
+     */
+    public void forget(Predicate<? super K> keys) {
+        inFlight.keySet().removeIf(keys);
+    }
+
+    public long executed() {
+        return executed.sum();
+    }
+
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    private V lead(K key, CompletableFuture<V> flight, Supplier<V> supplier) {
+        executed.increment();
+        try {
+            var value = supplier.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package pe.edu.upc.center.agecare.shared.infrastructure.configuration;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import pe.edu.upc.center.agecare.shared.infrastructure.monitoring.SlowQueryLog;
+import pe.edu.upc.center.agecare.shared.infrastructure.persistence.jdbc.ConnectionLimitingDataSource;
+import pe.edu.upc.center.agecare.shared.infrastructure.persistence.jdbc.ReadWriteRoutingDataSource;
+import pe.edu.upc.center.agecare.shared.infrastructure.persistence.jdbc.SlowQueryCapturingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+@Configuration
+public class DataSourceConfig {
+    private final ObjectProvider<DataSource> dataSource;
+
+    public DataSourceConfig(ObjectProvider<DataSource> dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // Static so the post-processor is registered without initializing the rest of this configuration early
+    @Bean
+    public static BeanPostProcessor dataSourcePostProcessor(Environment environment,
+                                                                              ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource
+                        || bean instanceof ReadWriteRoutingDataSource) {
+                    return bean;
+                }
+                var primary = gate(dataSource, "primary", slowQueryLog.getObject(),
+                        environment.getRequiredProperty("nutrition.datasource.max-concurrent-connections", Integer.class),
+                        environment.getRequiredProperty("nutrition.datasource.acquire-timeout", Duration.class));
+                var replicaUrls = Arrays.stream(environment.getProperty("nutrition.datasource.replicas.urls", String[].class, new String[0]))
+                        .filter(url -> !url.isBlank())
+                        .toList();
+                Map<String, DataSource> replicas = new LinkedHashMap<>();
+                for (int index = 0; index < replicaUrls.size(); index++) {
+                    var name = "replica-" + index;
+                    replicas.put(name, gate(replicaPool(environment, name, replicaUrls.get(index).trim()), name,
+                            slowQueryLog.getObject(),
+                            environment.getRequiredProperty("nutrition.datasource.replicas.maximum-pool-size", Integer.class),
+                            environment.getRequiredProperty("nutrition.datasource.acquire-timeout", Duration.class)));
+                }
+                return new ReadWriteRoutingDataSource(primary, replicas,
+                        environment.getRequiredProperty("nutrition.datasource.replicas.failure-threshold", Integer.class),
+                        environment.getRequiredProperty("nutrition.datasource.replicas.connection-timeout", Duration.class));
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionPermitMetrics() {
+        return registry -> dataSource.ifAvailable(candidate -> {
+            if (candidate instanceof ReadWriteRoutingDataSource routing) {
+                routing.bindMetrics(registry);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${nutrition.datasource.replicas.health-check-interval}")
+    public void checkReplicaHealth() {
+        dataSource.ifAvailable(candidate -> {
+            if (candidate instanceof ReadWriteRoutingDataSource routing) {
+                routing.checkHealth();
+            }
+        });
+    }
+
+    // Statements are timed inside the permit gate, so waiting for a permit never counts as a slow query
+    private static ConnectionLimitingDataSource gate(DataSource dataSource, String pool, SlowQueryLog slowQueries,
+                                                     int maxConcurrentConnections, Duration acquireTimeout) {
+        if (slowQueries.isEnabled()) {
+            dataSource = new SlowQueryCapturingDataSource(dataSource, slowQueries);
+        }
+        return new ConnectionLimitingDataSource(dataSource, pool, maxConcurrentConnections, acquireTimeout);
+    }
+
+    // Replicas share the primary's driver settings. The pool starts eagerly, so its first connection is not made
+    // inside Hikari's lazy-init monitor, and a replica that is down at startup fails health checks instead of the boot
+    private static HikariDataSource replicaPool(Environment environment, String name, String url) {
+        var config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setDriverClassName(environment.getProperty("spring.datasource.driver-class-name"));
+        config.setUsername(environment.getProperty("nutrition.datasource.replicas.username"));
+        config.setPassword(environment.getProperty("nutrition.datasource.replicas.password"));
+        config.setMaximumPoolSize(environment.getRequiredProperty("nutrition.datasource.replicas.maximum-pool-size", Integer.class));
+        config.setConnectionTimeout(environment.getRequiredProperty("nutrition.datasource.replicas.connection-timeout", Duration.class).toMillis());
+        config.setInitializationFailTimeout(-1);
+        config.setReadOnly(true);
+        var driverProperties = new Properties();
+        driverProperties.putAll(Binder.get(environment)
+                .bind("spring.datasource.hikari.data-source-properties", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of()));
+        config.setDataSourceProperties(driverProperties);
+        return new HikariDataSource(config);
+    }
+}
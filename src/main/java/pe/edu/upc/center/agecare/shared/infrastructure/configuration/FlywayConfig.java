@@ -0,0 +1,51 @@
+package pe.edu.upc.center.agecare.shared.infrastructure.configuration;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.sql.SQLException;
+
+@Configuration
+public class FlywayConfig {
+
+    // Read at startup rather than as a bean condition, so it still applies to an AOT-processed build. Off for
+    // the class-data-sharing training run, which has no database, and for instances scaled out after a deploy
+    // has already migrated
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${nutrition.flyway.migrate-on-startup}") boolean migrateOnStartup,
+            @Value("${nutrition.flyway.baseline-version}") String baselineVersion) {
+        return flyway -> {
+            if (!migrateOnStartup) {
+                return;
+            }
+            if (!baselineVersion.isBlank()) {
+                flyway = Flyway.configure().configuration(flyway.getConfiguration())
+                        .baselineOnMigrate(true)
+                        .baselineVersion(baselineVersion)
+                        .load();
+            } else if (predatesFlyway(flyway)) {
+                // Guessing a baseline would rerun or skip the scripts that were applied by hand
+                throw new IllegalStateException("food_entries exists but Flyway has no schema history: set "
+                        + "FLYWAY_BASELINE_VERSION to the last migration already applied to this database");
+            }
+            flyway.migrate();
+        };
+    }
+
+    private static boolean predatesFlyway(Flyway flyway) {
+        if (flyway.info().applied().length > 0) {
+            return false;
+        }
+        try (var connection = flyway.getConfiguration().getDataSource().getConnection();
+             var tables = connection.getMetaData()
+                     .getTables(connection.getCatalog(), null, "food_entries", new String[]{"TABLE"})) {
+            return tables.next();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not check for an existing food_entries table", e);
+        }
+    }
+}
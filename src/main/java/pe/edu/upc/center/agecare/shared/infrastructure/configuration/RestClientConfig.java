@@ -1,14 +1,62 @@
 package pe.edu.upc.center.agecare.shared.infrastructure.configuration;
 
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
 import org.springframework.web.client.RestClient;
+import pe.edu.upc.center.agecare.shared.infrastructure.http.DownstreamServices;
+import pe.edu.upc.center.agecare.shared.infrastructure.http.PerHostConcurrencyLimitInterceptor;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
 
 @Configuration
 public class RestClientConfig {
 
     @Bean
-    public RestClient restClient() {
-        return RestClient.builder().build();
+    public DownstreamServices downstreamServices(Environment environment) {
+        return new DownstreamServices(environment);
+    }
+
+    // Built from Boot's builder so every call is observed as http.client.requests, tagged with the downstream service
+    @Bean
+    public RestClient restClient(RestClient.Builder builder,
+                                 DownstreamServices downstreamServices,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                 @Value("${nutrition.http-client.version}") HttpClient.Version version,
+                                 @Value("${nutrition.http-client.connect-timeout}") Duration connectTimeout,
+                                 @Value("${nutrition.http-client.read-timeout}") Duration readTimeout,
+                                 @Value("${nutrition.http-client.max-requests-per-host}") int maxRequestsPerHost,
+                                 @Value("${nutrition.http-client.acquire-timeout}") Duration acquireTimeout) {
+        // In virtual-thread mode the JDK client runs its response handling on virtual threads as well
+        var httpClient = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(connectTimeout);
+        if (virtualThreads) {
+            httpClient.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        var requestFactory = new JdkClientHttpRequestFactory(httpClient.build());
+        requestFactory.setReadTimeout(readTimeout);
+
+        return builder
+                .requestFactory(requestFactory)
+                .requestInterceptor(new PerHostConcurrencyLimitInterceptor(maxRequestsPerHost, acquireTimeout))
+                .observationConvention(new DefaultClientRequestObservationConvention() {
+                    @Override
+                    public KeyValues getLowCardinalityKeyValues(ClientRequestObservationContext context) {
+                        var service = context.getCarrier() != null
+                                ? downstreamServices.resolve(context.getCarrier().getURI())
+                                : DownstreamServices.UNKNOWN;
+                        return super.getLowCardinalityKeyValues(context).and(KeyValue.of("service", service));
+                    }
+                })
+                .build();
     }
 }
@@ -0,0 +1,20 @@
+package pe.edu.upc.center.agecare.shared.infrastructure.configuration;
+
+import io.micrometer.java21.instrument.binder.jdk.VirtualThreadMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes {@code jvm.threads.virtual.pinned} (virtual threads that blocked while pinned to their carrier)
+ * and {@code jvm.threads.virtual.submit.failed} from a JFR stream while virtual threads are enabled.
+ */
+@Configuration
+@ConditionalOnProperty("spring.threads.virtual.enabled")
+public class VirtualThreadMetricsConfig {
+
+    @Bean
+    public VirtualThreadMetrics virtualThreadMetrics() {
+        return new VirtualThreadMetrics();
+    }
+}
@@ -0,0 +1,40 @@
+package pe.edu.upc.center.agecare.shared.infrastructure.http;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves the downstream service a request targets from the {@code services.<name>.url} properties,
+ * so outbound metrics and limits can be reported per service rather than per raw host.
+ */
+public class DownstreamServices {
+    public static final String UNKNOWN = "unknown";
+
+    private final Map<String, String> serviceByAuthority = new HashMap<>();
+
+    public DownstreamServices(Environment environment) {
+        Binder.get(environment)
+                .bind("services", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of())
+                .forEach((key, url) -> {
+                    if (key.endsWith(".url") && !url.isBlank()) {
+                        serviceByAuthority.put(authority(URI.create(url)), key.substring(0, key.length() - ".url".length()));
+                    }
+                });
+    }
+
+    public String resolve(URI uri) {
+        return serviceByAuthority.getOrDefault(authority(uri), UNKNOWN);
+    }
+
+    // Host and port, with the scheme's default port filled in, so http://host and http://host:80 are one authority
+    public static String authority(URI uri) {
+        int port = uri.getPort() != -1 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        return uri.getHost() + ":" + port;
+    }
+}
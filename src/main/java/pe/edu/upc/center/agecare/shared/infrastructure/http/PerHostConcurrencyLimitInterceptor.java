@@ -0,0 +1,51 @@
+package pe.edu.upc.center.agecare.shared.infrastructure.http;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the requests in flight to each host. The JDK client pools connections but opens as many as callers
+ * ask for, so without this a slow downstream would collect one connection per waiting virtual thread.
+ * The permit is held until the request has been executed and its response handed back.
+ */
+public class PerHostConcurrencyLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Map<String, Semaphore> permitsByHost = new ConcurrentHashMap<>();
+    private final int maxConcurrentRequestsPerHost;
+    private final Duration acquireTimeout;
+
+    public PerHostConcurrencyLimitInterceptor(int maxConcurrentRequestsPerHost, Duration acquireTimeout) {
+        this.maxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        var host = DownstreamServices.authority(request.getURI());
+        var permits = permitsByHost.computeIfAbsent(host, key -> new Semaphore(maxConcurrentRequestsPerHost));
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("More than " + maxConcurrentRequestsPerHost + " concurrent requests to " + host);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to call " + host);
+        }
+        try {
+            return execution.execute(request, body);
+        } finally {
+            permits.release();
+        }
+    }
+}
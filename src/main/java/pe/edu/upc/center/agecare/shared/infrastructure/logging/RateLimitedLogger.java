@@ -0,0 +1,71 @@
+package pe.edu.upc.center.agecare.shared.infrastructure.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logs at most a fixed number of messages per key and interval, so a failing dependency produces a steady
+ * trickle of log lines instead of one per call. The first message of each new interval reports how many
+ * were suppressed in the previous one.
+ */
+public class RateLimitedLogger {
+    private final Logger logger;
+    private final int messagesPerInterval;
+    private final long intervalNanos;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public RateLimitedLogger(Logger logger, int messagesPerInterval, Duration interval) {
+        this.logger = logger;
+        this.messagesPerInterval = messagesPerInterval;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    public void warn(String key, String format, Object... arguments) {
+        log(Level.WARN, key, format, arguments);
+    }
+
+    public void error(String key, String format, Object... arguments) {
+        log(Level.ERROR, key, format, arguments);
+    }
+
+    private void log(Level level, String key, String format, Object... arguments) {
+        if (!logger.isEnabledForLevel(level)) {
+            return;
+        }
+        long suppressed = windows.computeIfAbsent(key, k -> new Window()).admit(System.nanoTime());
+        if (suppressed < 0) {
+            return;
+        }
+        var event = logger.atLevel(level).addKeyValue("key", key);
+        if (suppressed > 0) {
+            event = event.addKeyValue("suppressed", suppressed);
+        }
+        event.log(format, arguments);
+    }
+
+    private final class Window {
+        private long start = Long.MIN_VALUE;
+        private int emitted;
+        private long suppressed;
+
+        // Returns -1 when the message must be dropped, otherwise the count suppressed since the last one logged
+        synchronized long admit(long now) {
+            if (start == Long.MIN_VALUE || now - start >= intervalNanos) {
+                start = now;
+                emitted = 0;
+            }
+            if (emitted >= messagesPerInterval) {
+                suppressed++;
+                return -1;
+            }
+            emitted++;
+            long dropped = suppressed;
+            suppressed = 0;
+            return dropped;
+        }
+    }
+}
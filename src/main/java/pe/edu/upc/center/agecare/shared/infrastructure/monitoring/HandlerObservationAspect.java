@@ -0,0 +1,82 @@
+package pe.edu.upc.center.agecare.shared.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Observes every command and query handler as {@code nutrition.handler}, tagged with the command or query
+ * type, its kind and the outcome. The observation yields a timer and, when tracing is enabled, a span;
+ * list results also feed the {@code nutrition.handler.results} size distribution. The handler name is
+ * put in the MDC so log lines written while it runs can be attributed to it.
+ */
+@Aspect
+@Component
+public class HandlerObservationAspect {
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> resultSizes = new ConcurrentHashMap<>();
+
+    public HandlerObservationAspect(ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+        this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* pe.edu.upc.center.agecare..domain.services.*Service+.handle(..))")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        var handler = joinPoint.getArgs()[0].getClass().getSimpleName();
+        var kind = handler.endsWith("Query") ? "query" : "command";
+        var observation = Observation.createNotStarted("nutrition.handler", observationRegistry)
+                .contextualName(handler)
+                .lowCardinalityKeyValue("handler", handler)
+                .lowCardinalityKeyValue("kind", kind)
+                .start();
+        var previousHandler = MDC.get("handler");
+        MDC.put("handler", handler);
+        try (var scope = observation.openScope()) {
+            var result = joinPoint.proceed();
+            observation.lowCardinalityKeyValue("outcome", outcome(result));
+            if (result instanceof Collection<?> results) {
+                resultSizes.computeIfAbsent(handler, this::resultSizes).record(results.size());
+            }
+            return result;
+        } catch (Throwable e) {
+            observation.lowCardinalityKeyValue("outcome", "error");
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+            if (previousHandler != null) {
+                MDC.put("handler", previousHandler);
+            } else {
+                MDC.remove("handler");
+            }
+        }
+    }
+
+    // Built and registered once per handler rather than on every call that returns a list
+    private DistributionSummary resultSizes(String handler) {
+        return DistributionSummary.builder("nutrition.handler.results")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String outcome(Object result) {
+        if (result instanceof Optional<?> optional && optional.isEmpty()) {
+            return "empty";
+        }
+        return Boolean.FALSE.equals(result) ? "rejected" : "success";
+    }
+}
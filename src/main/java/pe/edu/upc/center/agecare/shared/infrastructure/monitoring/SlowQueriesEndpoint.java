@@ -0,0 +1,34 @@
+package pe.edu.upc.center.agecare.shared.infrastructure.monitoring;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Exposes the slow-query ring buffer at {@code /actuator/slowqueries}; a DELETE clears it.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueriesEndpoint(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @ReadOperation
+    public SlowQueriesDescriptor slowQueries() {
+        return new SlowQueriesDescriptor(slowQueryLog.recorded(), slowQueryLog.entries());
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryLog.clear();
+    }
+
+    public record SlowQueriesDescriptor(long recorded, List<SlowQuery> queries) {
+    }
+}
@@ -0,0 +1,12 @@
+package pe.edu.upc.center.agecare.shared.infrastructure.monitoring;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A statement that took at least the slow-query threshold. {@code batchSize} is zero for single executions;
+ * for batches the parameters are those of the last row added.
+ */
+public record SlowQuery(Instant executedAt, long durationMillis, String sql, List<String> parameters,
+                        int batchSize, String handler, String thread) {
+}
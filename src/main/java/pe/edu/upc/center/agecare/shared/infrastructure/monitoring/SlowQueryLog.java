@@ -0,0 +1,91 @@
+package pe.edu.upc.center.agecare.shared.infrastructure.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bounded ring buffer of the most recent slow statements. Once full, each new entry overwrites the oldest.
+ */
+@Component
+public class SlowQueryLog {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final boolean logEntries;
+    private final boolean captureValues;
+    private final SlowQuery[] entries;
+    private int next;
+    private long recorded;
+
+    public SlowQueryLog(@Value("${nutrition.slow-queries.enabled}") boolean enabled,
+                        @Value("${nutrition.slow-queries.threshold}") Duration threshold,
+                        @Value("${nutrition.slow-queries.capacity}") int capacity,
+                        @Value("${nutrition.slow-queries.log}") boolean logEntries,
+                        @Value("${nutrition.slow-queries.capture-values}") boolean captureValues) {
+        this.enabled = enabled;
+        this.thresholdNanos = threshold.toNanos();
+        this.logEntries = logEntries;
+        this.captureValues = captureValues;
+        this.entries = new SlowQuery[capacity];
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Bind values hold resident data, so by default only their types and lengths are kept
+    public boolean capturesValues() {
+        return captureValues;
+    }
+
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    public void record(SlowQuery slowQuery) {
+        synchronized (entries) {
+            entries[next] = slowQuery;
+            next = (next + 1) % entries.length;
+            recorded++;
+        }
+        if (logEntries) {
+            LOGGER.warn("Slow query took {} ms: {} {}", slowQuery.durationMillis(), slowQuery.sql(), slowQuery.parameters());
+        }
+    }
+
+    // Newest first
+    public List<SlowQuery> entries() {
+        synchronized (entries) {
+            List<SlowQuery> snapshot = new ArrayList<>(entries.length);
+            for (int i = 1; i <= entries.length; i++) {
+                var entry = entries[Math.floorMod(next - i, entries.length)];
+                if (entry == null) {
+                    break;
+                }
+                snapshot.add(entry);
+            }
+            return snapshot;
+        }
+    }
+
+    public long recorded() {
+        synchronized (entries) {
+            return recorded;
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            Arrays.fill(entries, null);
+            next = 0;
+        }
+    }
+}
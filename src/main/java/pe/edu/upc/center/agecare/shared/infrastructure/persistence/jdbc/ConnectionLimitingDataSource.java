@@ -0,0 +1,119 @@
+package pe.edu.upc.center.agecare.shared.infrastructure.persistence.jdbc;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits at most a fixed number of callers to the connection pool at a time. With virtual threads the
+ * number of concurrent requests is no longer capped by a thread pool, so thousands of callers can queue
+ * inside the pool at once; this fair semaphore keeps them waiting in arrival order instead and holds a
+ * permit until the borrowed connection is closed.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource implements MeterBinder, AutoCloseable {
+
+    private final String pool;
+    private final Semaphore permits;
+    private final int maxConcurrentConnections;
+    private final Duration acquireTimeout;
+
+    public ConnectionLimitingDataSource(DataSource targetDataSource, String pool, int maxConcurrentConnections,
+                                        Duration acquireTimeout) {
+        super(targetDataSource);
+        this.pool = pool;
+        this.permits = new Semaphore(maxConcurrentConnections, true);
+        this.maxConcurrentConnections = maxConcurrentConnections;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("nutrition.datasource.permits.waiting", permits, Semaphore::getQueueLength)
+                .description("Callers waiting for a connection permit")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("nutrition.datasource.permits.active", permits,
+                        semaphore -> maxConcurrentConnections - semaphore.availablePermits())
+                .description("Connections currently borrowed through the permit gate")
+                .tag("pool", pool)
+                .register(registry);
+    }
+
+    // Closes the pool underneath, since the context only sees this wrapper when it shuts down
+    @Override
+    public void close() throws Exception {
+        DataSource target = getTargetDataSource();
+        while (target instanceof DelegatingDataSource delegating) {
+            target = delegating.getTargetDataSource();
+        }
+        if (target instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "No connection permit available within " + acquireTimeout.toMillis() + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection permit", e);
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        var released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
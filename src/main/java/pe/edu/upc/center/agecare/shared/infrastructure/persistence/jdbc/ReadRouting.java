@@ -0,0 +1,48 @@
+package pe.edu.upc.center.agecare.shared.infrastructure.persistence.jdbc;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the reads on the current thread that may be served by a replica. Only read-only transactions opened
+ * inside {@link #replica} leave the primary; reads that join a write transaction, and everything outside a
+ * replica scope, keep using it.
+ */
+public final class ReadRouting {
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static <T> T replica(Supplier<T> read) {
+        return within(true, read);
+    }
+
+    public static void replica(Runnable read) {
+        within(true, () -> {
+            read.run();
+            return null;
+        });
+    }
+
+    public static <T> T primary(Supplier<T> read) {
+        return within(false, read);
+    }
+
+    static boolean replicaAllowed() {
+        return Boolean.TRUE.equals(REPLICA_ALLOWED.get());
+    }
+
+    private static <T> T within(boolean replicaAllowed, Supplier<T> read) {
+        var previous = REPLICA_ALLOWED.get();
+        REPLICA_ALLOWED.set(replicaAllowed);
+        try {
+            return read.get();
+        } finally {
+            if (previous != null) {
+                REPLICA_ALLOWED.set(previous);
+            } else {
+                REPLICA_ALLOWED.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package pe.edu.upc.center.agecare.shared.infrastructure.persistence.jdbc;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions started inside {@link ReadRouting#replica} to a healthy replica, picked
+ * round-robin, and everything else to the primary. Connections are fetched lazily, at the first statement,
+ * so the decision is made once the transaction is known to be read-only.
+ * <p>
+ * A replica is ejected after {@code failureThreshold} consecutive failures, whether from a health check or
+ * from handing out a connection, and readmitted by the next successful health check. A read that cannot get
+ * a replica connection falls back to the primary instead of failing. Without replicas every connection comes
+ * from the primary, still fetched lazily.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final int failureThreshold;
+    private final Duration validationTimeout;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryReads = new LongAdder();
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                      int failureThreshold, Duration validationTimeout) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(replica -> new Replica(replica.getKey(), replica.getValue()))
+                .toList();
+        this.failureThreshold = failureThreshold;
+        this.validationTimeout = validationTimeout;
+        setReadOnlyDataSource(new ReadOnlyDataSource());
+    }
+
+    public void checkHealth() {
+        for (var replica : replicas) {
+            try (var connection = replica.dataSource.getConnection()) {
+                if (connection.isValid((int) Math.max(1, validationTimeout.toSeconds()))) {
+                    recordSuccess(replica);
+                } else {
+                    recordFailure(replica, null);
+                }
+            } catch (SQLException e) {
+                recordFailure(replica, e);
+            }
+        }
+    }
+
+    // Not a MeterBinder: as the DataSource bean it would otherwise be bound twice, by Boot and by DataSourceConfig
+    public void bindMetrics(MeterRegistry registry) {
+        bindIfLimited(primary, registry);
+        replicas.forEach(replica -> bindIfLimited(replica.dataSource, registry));
+        Gauge.builder("nutrition.datasource.replicas.healthy", replicas,
+                        all -> all.stream().filter(replica -> replica.healthy).count())
+                .description("Replicas currently receiving reads")
+                .register(registry);
+        FunctionCounter.builder("nutrition.datasource.read-only.connections", replicaReads, LongAdder::sum)
+                .description("Connections handed to read-only transactions")
+                .tag("target", "replica")
+                .register(registry);
+        FunctionCounter.builder("nutrition.datasource.read-only.connections", primaryReads, LongAdder::sum)
+                .description("Connections handed to read-only transactions")
+                .tag("target", "primary")
+                .register(registry);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (var replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection readOnlyConnection() throws SQLException {
+        if (ReadRouting.replicaAllowed()) {
+            for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                var replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    var connection = replica.dataSource.getConnection();
+                    replicaReads.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    recordFailure(replica, e);
+                }
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    private void recordSuccess(Replica replica) {
+        replica.failures.set(0);
+        if (!replica.healthy) {
+            replica.healthy = true;
+            LOGGER.atInfo().setMessage("Replica readmitted").addKeyValue("replica", replica.name).log();
+        }
+    }
+
+    private void recordFailure(Replica replica, SQLException cause) {
+        if (replica.failures.incrementAndGet() >= failureThreshold && replica.healthy) {
+            replica.healthy = false;
+            LOGGER.atWarn()
+                    .setMessage("Replica ejected, reads fall back to the primary")
+                    .addKeyValue("replica", replica.name)
+                    .addKeyValue("cause", cause != null ? cause.getMessage() : "connection not valid")
+                    .log();
+        }
+    }
+
+    private static void bindIfLimited(DataSource dataSource, MeterRegistry registry) {
+        if (dataSource instanceof ConnectionLimitingDataSource limited) {
+            limited.bindTo(registry);
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final class ReadOnlyDataSource extends AbstractDataSource {
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readOnlyConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return readOnlyConnection();
+        }
+    }
+}
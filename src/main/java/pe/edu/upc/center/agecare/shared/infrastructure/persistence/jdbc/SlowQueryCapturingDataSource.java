@@ -0,0 +1,130 @@
+package pe.edu.upc.center.agecare.shared.infrastructure.persistence.jdbc;
+
+import org.slf4j.MDC;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import pe.edu.upc.center.agecare.shared.infrastructure.monitoring.SlowQuery;
+import pe.edu.upc.center.agecare.shared.infrastructure.monitoring.SlowQueryLog;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every statement execution and hands those at or above the slow-query threshold, with their bind
+ * parameters and the handler running at the time, to the {@link SlowQueryLog}. Bind parameters are only
+ * kept for the statement currently being built, so fast statements cost a list reset per execution. Unless
+ * the log captures values, a parameter is kept as its type and, for text and binary values, its length.
+ */
+public class SlowQueryCapturingDataSource extends DelegatingDataSource {
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueryCapturingDataSource(DataSource targetDataSource, SlowQueryLog slowQueryLog) {
+        super(targetDataSource);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return capturing(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return capturing(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection capturing(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            var result = invoke(connection, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> timed(PreparedStatement.class, (PreparedStatement) result, (String) args[0]);
+                case "createStatement" -> timed(Statement.class, (Statement) result, null);
+                default -> result;
+            };
+        });
+    }
+
+    private <S extends Statement> S timed(Class<S> type, S statement, String preparedSql) {
+        var parameters = new ArrayList<String>();
+        var batchSize = new int[1];
+        return proxy(type, statement, (method, args) -> {
+            var name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                record(parameters, index, args[1], slowQueryLog.capturesValues());
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch")) {
+                batchSize[0]++;
+            } else if (name.equals("clearBatch")) {
+                batchSize[0] = 0;
+            } else if (name.startsWith("execute")) {
+                var sql = preparedSql != null ? preparedSql : args != null && args.length > 0 ? String.valueOf(args[0]) : null;
+                long start = System.nanoTime();
+                try {
+                    return invoke(statement, method, args);
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    if (slowQueryLog.isSlow(elapsed)) {
+                        slowQueryLog.record(new SlowQuery(Instant.now(), TimeUnit.NANOSECONDS.toMillis(elapsed), sql,
+                                List.copyOf(parameters), name.equals("executeBatch") ? batchSize[0] : 0,
+                                MDC.get("handler"), Thread.currentThread().getName()));
+                    }
+                    if (name.equals("executeBatch")) {
+                        batchSize[0] = 0;
+                    }
+                }
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static void record(List<String> parameters, int index, Object value, boolean captureValue) {
+        while (parameters.size() < index) {
+            parameters.add(null);
+        }
+        parameters.set(index - 1, captureValue ? truncated(String.valueOf(value)) : described(value));
+    }
+
+    private static String truncated(String value) {
+        return value.length() > MAX_PARAMETER_LENGTH ? value.substring(0, MAX_PARAMETER_LENGTH) + "..." : value;
+    }
+
+    private static String described(Object value) {
+        return switch (value) {
+            case null -> "null";
+            case CharSequence text -> "String(" + text.length() + ")";
+            case byte[] bytes -> "byte[" + bytes.length + "]";
+            default -> value.getClass().getSimpleName();
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Invocation invocation) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> invocation.invoke(method, args));
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+}
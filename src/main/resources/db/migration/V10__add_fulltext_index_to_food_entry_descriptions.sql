@@ -0,0 +1,3 @@
+-- Full-text search over descriptions, ranked with MATCH ... AGAINST. JPA cannot declare a FULLTEXT index, so it
+-- exists only here. The first FULLTEXT index on a table rebuilds it to add the hidden FTS_DOC_ID column.
+ALTER TABLE `food_entries` ADD FULLTEXT INDEX `ft_food_entries_description` (`description`);
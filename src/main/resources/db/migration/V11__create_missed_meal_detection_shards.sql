@@ -0,0 +1,18 @@
+-- Missed-meal detection claims each range of resident ids for a day and meal in the same transaction as its
+-- alerts. A row in missed_meal_detection_runs is now written only once all of them are claimed.
+CREATE TABLE IF NOT EXISTS `missed_meal_detection_shards` (
+    `id` BIGINT NOT NULL,
+    `detection_date` DATE NOT NULL,
+    `meal` VARCHAR(255) NOT NULL,
+    `shard` INT NOT NULL,
+    `alert_count` INT NOT NULL,
+    `created_at` DATETIME(6) NOT NULL,
+    `updated_at` DATETIME(6) NOT NULL,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_missed_meal_detection_shards_detection_date_meal_shard` (`detection_date`, `meal`, `shard`)
+);
+
+CREATE TABLE IF NOT EXISTS `missed_meal_detection_shards_seq` (
+    `next_val` BIGINT
+);
+INSERT INTO `missed_meal_detection_shards_seq` (`next_val`) VALUES (50);
@@ -0,0 +1,16 @@
+-- Missed-meal detection shards are now keyset chunks of the active resident ids, claimed by their first and last
+-- resident id instead of a fixed-size shard number. Existing claims were shards of 1000 consecutive ids.
+ALTER TABLE `missed_meal_detection_shards`
+    ADD COLUMN `first_resident_id` BIGINT NULL,
+    ADD COLUMN `last_resident_id` BIGINT NULL;
+
+UPDATE `missed_meal_detection_shards`
+SET `first_resident_id` = `shard` * 1000, `last_resident_id` = `shard` * 1000 + 999;
+
+ALTER TABLE `missed_meal_detection_shards`
+    DROP INDEX `uk_missed_meal_detection_shards_detection_date_meal_shard`,
+    DROP COLUMN `shard`,
+    MODIFY COLUMN `first_resident_id` BIGINT NOT NULL,
+    MODIFY COLUMN `last_resident_id` BIGINT NOT NULL,
+    ADD UNIQUE KEY `uk_missed_meal_detection_shards_detection_date_meal_first_resident_id`
+        (`detection_date`, `meal`, `first_resident_id`);
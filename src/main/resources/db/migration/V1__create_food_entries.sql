@@ -0,0 +1,15 @@
+-- food_entries as Hibernate first created it, before the versioned migrations that follow.
+-- Databases created that way already have this table: Flyway baselines them (see spring.flyway.baseline-version).
+CREATE TABLE IF NOT EXISTS `food_entries` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `meal` VARCHAR(255) NOT NULL,
+    `description` TEXT NOT NULL,
+    `date` VARCHAR(255) NOT NULL,
+    `time` VARCHAR(255) NOT NULL,
+    `added_by` VARCHAR(255),
+    `added_by_id` BIGINT,
+    `target_id` BIGINT,
+    `created_at` DATETIME(6) NOT NULL,
+    `updated_at` DATETIME(6) NOT NULL,
+    PRIMARY KEY (`id`)
+);
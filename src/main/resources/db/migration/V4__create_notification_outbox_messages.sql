@@ -0,0 +1,14 @@
+-- Transactional outbox for notifications relayed to the notifications service
+CREATE TABLE IF NOT EXISTS `notification_outbox_messages` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `user_id` BIGINT,
+    `message` TEXT NOT NULL,
+    `status` VARCHAR(255) NOT NULL,
+    `attempts` INT NOT NULL,
+    `available_at` DATETIME(6) NOT NULL,
+    `sent_at` DATETIME(6),
+    `created_at` DATETIME(6) NOT NULL,
+    `updated_at` DATETIME(6) NOT NULL,
+    PRIMARY KEY (`id`),
+    INDEX `idx_notification_outbox_messages_status_available_at` (`status`, `available_at`, `id`)
+);
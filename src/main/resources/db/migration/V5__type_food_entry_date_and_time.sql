@@ -0,0 +1,24 @@
+-- Convert the free-form date/time strings of food_entries into DATE/TIME columns and index the lookup columns
+ALTER TABLE `food_entries` ADD COLUMN `entry_date` DATE NULL, ADD COLUMN `entry_time` TIME NULL;
+
+UPDATE `food_entries` SET `entry_date` = CAST(`date` AS DATE)
+WHERE `date` REGEXP '^[0-9]{4}-[0-9]{2}-[0-9]{2}$';
+
+UPDATE `food_entries` SET `entry_time` = CAST(`time` AS TIME)
+WHERE `time` REGEXP '^[0-9]{1,2}:[0-9]{2}(:[0-9]{2})?$';
+
+-- Keep the original text of rows that could not be parsed and fall back to their creation timestamp
+CREATE TABLE `food_entries_unparsed_date_times` AS
+SELECT `id`, `date`, `time` FROM `food_entries` WHERE `entry_date` IS NULL OR `entry_time` IS NULL;
+
+UPDATE `food_entries` SET `entry_date` = DATE(`created_at`) WHERE `entry_date` IS NULL;
+UPDATE `food_entries` SET `entry_time` = TIME(`created_at`) WHERE `entry_time` IS NULL;
+
+ALTER TABLE `food_entries` DROP COLUMN `date`, DROP COLUMN `time`;
+ALTER TABLE `food_entries`
+    CHANGE COLUMN `entry_date` `date` DATE NOT NULL,
+    CHANGE COLUMN `entry_time` `time` TIME NOT NULL;
+
+CREATE INDEX `idx_food_entries_resident_id_date` ON `food_entries` (`resident_id`, `date`);
+CREATE INDEX `idx_food_entries_date_meal` ON `food_entries` (`date`, `meal`);
+CREATE INDEX `idx_food_entries_added_by_id` ON `food_entries` (`added_by_id`);
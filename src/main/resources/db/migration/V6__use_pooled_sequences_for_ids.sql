@@ -0,0 +1,15 @@
+-- Ids now come from pooled sequences (allocation size 50) so Hibernate can batch inserts.
+-- MySQL has no sequences, so Hibernate emulates each one with a single-row table. Hibernate hands out
+-- next_val - 49 .. next_val from a fetched value, so each table is seeded 50 past the current maximum id.
+-- Run before deploying: on a missing table Hibernate would create it starting at 1 and collide with existing ids.
+CREATE TABLE IF NOT EXISTS `food_entries_seq` (
+    `next_val` BIGINT
+);
+INSERT INTO `food_entries_seq` (`next_val`)
+SELECT COALESCE(MAX(`id`), 0) + 50 FROM `food_entries`;
+
+CREATE TABLE IF NOT EXISTS `notification_outbox_messages_seq` (
+    `next_val` BIGINT
+);
+INSERT INTO `notification_outbox_messages_seq` (`next_val`)
+SELECT COALESCE(MAX(`id`), 0) + 50 FROM `notification_outbox_messages`;
@@ -0,0 +1,3 @@
+-- Optimistic locking: updates are issued as UPDATE ... WHERE id = ? AND version = ?
+ALTER TABLE `food_entries`
+    ADD COLUMN `version` BIGINT NOT NULL DEFAULT 0;
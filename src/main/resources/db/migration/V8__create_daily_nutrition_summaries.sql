@@ -0,0 +1,47 @@
+-- Per resident, per day summary of food entries, maintained by the service
+CREATE TABLE IF NOT EXISTS `daily_nutrition_summaries` (
+    `id` BIGINT NOT NULL,
+    `resident_id` BIGINT NOT NULL,
+    `summary_date` DATE NOT NULL,
+    `breakfast_count` INT NOT NULL,
+    `lunch_count` INT NOT NULL,
+    `dinner_count` INT NOT NULL,
+    `first_entry_time` TIME,
+    `last_entry_time` TIME,
+    `author_count` INT NOT NULL,
+    `version` BIGINT NOT NULL,
+    `created_at` DATETIME(6) NOT NULL,
+    `updated_at` DATETIME(6) NOT NULL,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_daily_nutrition_summaries_resident_id_summary_date` (`resident_id`, `summary_date`),
+    INDEX `idx_daily_nutrition_summaries_summary_date` (`summary_date`)
+);
+
+CREATE TABLE IF NOT EXISTS `daily_nutrition_summaries_seq` (
+    `next_val` BIGINT
+);
+INSERT INTO `daily_nutrition_summaries_seq` (`next_val`)
+SELECT COALESCE(MAX(`id`), 0) + 50 FROM `daily_nutrition_summaries`;
+
+-- Populate from the existing food entries; afterwards the service keeps the summaries current
+INSERT INTO `daily_nutrition_summaries` (`id`, `resident_id`, `summary_date`, `breakfast_count`, `lunch_count`,
+                                         `dinner_count`, `first_entry_time`, `last_entry_time`, `author_count`,
+                                         `version`, `created_at`, `updated_at`)
+SELECT ROW_NUMBER() OVER (ORDER BY `resident_id`, `date`),
+       `resident_id`,
+       `date`,
+       SUM(`meal` = 'BREAKFAST'),
+       SUM(`meal` = 'LUNCH'),
+       SUM(`meal` = 'DINNER'),
+       MIN(`time`),
+       MAX(`time`),
+       COUNT(DISTINCT `added_by_id`),
+       0,
+       NOW(6),
+       NOW(6)
+FROM `food_entries`
+WHERE `resident_id` IS NOT NULL
+GROUP BY `resident_id`, `date`;
+
+UPDATE `daily_nutrition_summaries_seq`
+SET `next_val` = (SELECT COALESCE(MAX(`id`), 0) + 50 FROM `daily_nutrition_summaries`);
@@ -0,0 +1,16 @@
+-- One row per day and meal that missed-meal detection has run for; the unique key is the cross-replica claim
+CREATE TABLE IF NOT EXISTS `missed_meal_detection_runs` (
+    `id` BIGINT NOT NULL,
+    `detection_date` DATE NOT NULL,
+    `meal` VARCHAR(255) NOT NULL,
+    `alert_count` INT,
+    `created_at` DATETIME(6) NOT NULL,
+    `updated_at` DATETIME(6) NOT NULL,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_missed_meal_detection_runs_detection_date_meal` (`detection_date`, `meal`)
+);
+
+CREATE TABLE IF NOT EXISTS `missed_meal_detection_runs_seq` (
+    `next_val` BIGINT
+);
+INSERT INTO `missed_meal_detection_runs_seq` (`next_val`) VALUES (50);
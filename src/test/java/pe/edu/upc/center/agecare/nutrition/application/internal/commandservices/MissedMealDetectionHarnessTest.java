@@ -0,0 +1,236 @@
+package pe.edu.upc.center.agecare.nutrition.application.internal.commandservices;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import pe.edu.upc.center.agecare.nutrition.application.internal.schedulers.MissedMealDetectionScheduler;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.DetectMissedMealsCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+import pe.edu.upc.center.agecare.nutrition.domain.services.MissedMealDetectionCommandService;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.integration.NotificationOutboxRelay;
+import pe.edu.upc.center.agecare.nutrition.support.MutableClock;
+import pe.edu.upc.center.agecare.nutrition.support.StubNotificationServer;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives missed-meal detection against an embedded database with a fixed clock, then relays the
+ * alerts to a stub notifications service and checks exactly who was alerted.
+ */
+@ActiveProfiles("embedded")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class MissedMealDetectionHarnessTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 5, 1);
+    private static final MutableClock CLOCK = new MutableClock(TODAY.atTime(6, 0));
+    private static final StubNotificationServer NOTIFICATIONS = new StubNotificationServer().recordingBodies();
+    private static final Pattern USER_ID = Pattern.compile("\"userId\"\\s*:\\s*(-?\\d+)");
+
+    @TestConfiguration
+    static class FakeClockConfiguration {
+        @Bean
+        @Primary
+        MutableClock fakeClock() {
+            return CLOCK;
+        }
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("services.notifications.url", NOTIFICATIONS::url);
+        registry.add("nutrition.missed-meals.shard-size", () -> "10");
+        registry.add("nutrition.notifications.outbox.poll-interval", () -> "3600000");
+    }
+
+    @AfterAll
+    static void stopNotificationService() {
+        NOTIFICATIONS.close();
+    }
+
+    @Autowired
+    private MissedMealDetectionCommandService missedMealDetectionCommandService;
+
+    @Autowired
+    private MissedMealDetectionScheduler missedMealDetectionScheduler;
+
+    @Autowired
+    private NotificationOutboxRelay notificationOutboxRelay;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void reset() {
+        jdbcTemplate.update("delete from food_entries");
+        jdbcTemplate.update("delete from notification_outbox_messages");
+        jdbcTemplate.update("delete from missed_meal_detection_runs");
+        jdbcTemplate.update("delete from missed_meal_detection_shards");
+        NOTIFICATIONS.reset();
+        NOTIFICATIONS.withFailureRate(0.0);
+    }
+
+    @Test
+    void alertsActiveResidentsWithoutTheMealOnce() throws InterruptedException {
+        // Residents 1-40 ate lunch two days ago; the even ones also had breakfast today.
+        // Resident 99 has not had an entry for a month and is no longer considered active.
+        var rows = new ArrayList<Object[]>();
+        LongStream.rangeClosed(1, 40).forEach(residentId -> {
+            rows.add(entry(residentId, MealType.LUNCH, TODAY.minusDays(2)));
+            if (residentId % 2 == 0) {
+                rows.add(entry(residentId, MealType.BREAKFAST, TODAY));
+            }
+        });
+        rows.add(entry(99L, MealType.BREAKFAST, TODAY.minusDays(30)));
+        insert(rows);
+
+        var run = missedMealDetectionCommandService.handle(new DetectMissedMealsCommand(TODAY, MealType.BREAKFAST));
+        var repeated = missedMealDetectionCommandService.handle(new DetectMissedMealsCommand(TODAY, MealType.BREAKFAST));
+        relayOutbox();
+
+        Set<Long> expected = LongStream.rangeClosed(1, 40).filter(id -> id % 2 == 1).boxed()
+                .collect(Collectors.toCollection(TreeSet::new));
+        assertTrue(run.isPresent());
+        assertEquals(expected.size(), run.get().getAlertCount());
+        assertTrue(repeated.isEmpty());
+        assertEquals(expected, alertedResidents());
+        assertTrue(NOTIFICATIONS.bodies().stream().allMatch(body -> body.contains("no BREAKFAST recorded on 2024-05-01")));
+    }
+
+    @Test
+    void resumesADetectionThatStoppedPartWay() throws InterruptedException {
+        var rows = new ArrayList<Object[]>();
+        LongStream.rangeClosed(1, 40).forEach(residentId -> rows.add(entry(residentId, MealType.LUNCH, TODAY)));
+        insert(rows);
+        // An earlier detection alerted residents 10-19, then failed on another shard before recording the run
+        jdbcTemplate.update("insert into missed_meal_detection_shards (id, detection_date, meal, first_resident_id, "
+                + "last_resident_id, alert_count, created_at, updated_at) "
+                + "values (1000, ?, 'DINNER', 10, 19, 10, current_timestamp, current_timestamp)", Date.valueOf(TODAY));
+
+        var run = missedMealDetectionCommandService.handle(new DetectMissedMealsCommand(TODAY, MealType.DINNER));
+        relayOutbox();
+
+        Set<Long> expected = LongStream.rangeClosed(1, 40).filter(id -> id < 10 || id > 19).boxed()
+                .collect(Collectors.toCollection(TreeSet::new));
+        assertTrue(run.isPresent());
+        assertEquals(40, run.get().getAlertCount());
+        assertEquals(expected, alertedResidents());
+    }
+
+    @Test
+    void shardsOnlyTheActiveResidentIds() throws InterruptedException {
+        // Sparse and negative ids: two shards of up to ten residents, however far apart the ids are
+        var residentIds = List.of(-7L, -1L, 0L, 3L, 1_000L, 1_000_000L, 5_000_000_000L, 5_000_000_001L, 6L, 8L, 9L,
+                12L);
+        insert(residentIds.stream().map(residentId -> entry(residentId, MealType.LUNCH, TODAY.minusDays(1))).toList());
+
+        var run = missedMealDetectionCommandService.handle(new DetectMissedMealsCommand(TODAY, MealType.DINNER));
+        relayOutbox();
+
+        assertTrue(run.isPresent());
+        assertEquals(residentIds.size(), run.get().getAlertCount());
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from missed_meal_detection_shards", Integer.class));
+        assertEquals(new TreeSet<>(residentIds), alertedResidents());
+    }
+
+    @Test
+    void aFailedAlertIsSentOnceAndLeftToTheOutboxToRetry() throws InterruptedException {
+        insert(List.<Object[]>of(entry(1L, MealType.LUNCH, TODAY)));
+        missedMealDetectionCommandService.handle(new DetectMissedMealsCommand(TODAY, MealType.BREAKFAST));
+        NOTIFICATIONS.withFailureRate(1.0);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        do {
+            notificationOutboxRelay.relay();
+            Thread.sleep(10);
+        } while (NOTIFICATIONS.rejected() == 0 && System.nanoTime() < deadline);
+        // Later polls record the failure, then leave the message alone until its retry delay has passed
+        for (int i = 0; i < 10; i++) {
+            Thread.sleep(50);
+            notificationOutboxRelay.relay();
+        }
+
+        assertEquals(1, NOTIFICATIONS.rejected());
+        assertEquals(1, jdbcTemplate.queryForObject("select attempts from notification_outbox_messages", Integer.class));
+        assertTrue(jdbcTemplate.queryForObject("select available_at < current_timestamp + 45 second "
+                + "from notification_outbox_messages where status = 'PENDING'", Boolean.class));
+    }
+
+    @Test
+    void schedulerRunsEachMealOnceItsCutoffHasPassed() throws InterruptedException {
+        var day = TODAY.plusDays(10);
+        insert(List.of(entry(1L, MealType.DINNER, day.minusDays(1)), entry(2L, MealType.BREAKFAST, day)));
+
+        CLOCK.set(day.atTime(9, 59));
+        missedMealDetectionScheduler.detectPastCutoffs();
+        relayOutbox();
+        assertEquals(0, NOTIFICATIONS.received());
+
+        CLOCK.set(day.atTime(10, 0));
+        missedMealDetectionScheduler.detectPastCutoffs();
+        missedMealDetectionScheduler.detectPastCutoffs();
+        relayOutbox();
+        assertEquals(Set.of(1L), alertedResidents());
+
+        NOTIFICATIONS.reset();
+        CLOCK.set(LocalDateTime.of(day, LocalTime.of(15, 30)));
+        missedMealDetectionScheduler.detectPastCutoffs();
+        relayOutbox();
+        assertEquals(Set.of(1L, 2L), alertedResidents());
+    }
+
+    // The relay does not wait for the deliveries it starts, so it is polled until every message has been sent
+    private void relayOutbox() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        do {
+            notificationOutboxRelay.relay();
+            Thread.sleep(10);
+        } while (jdbcTemplate.queryForObject("select count(*) from notification_outbox_messages where status = 'PENDING'",
+                Integer.class) > 0 && System.nanoTime() < deadline);
+    }
+
+    private Set<Long> alertedResidents() {
+        return NOTIFICATIONS.bodies().stream()
+                .map(USER_ID::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> Long.valueOf(matcher.group(1)))
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static Object[] entry(Long residentId, MealType meal, LocalDate date) {
+        var now = new Timestamp(System.currentTimeMillis());
+        return new Object[]{meal.name(), "Harness meal", Date.valueOf(date), Time.valueOf(LocalTime.NOON),
+                "Harness", 1L, residentId, now, now};
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("insert into food_entries (id, meal, description, date, time, added_by, added_by_id, "
+                + "resident_id, version, created_at, updated_at) "
+                + "values (next value for food_entries_seq, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)", rows);
+    }
+}
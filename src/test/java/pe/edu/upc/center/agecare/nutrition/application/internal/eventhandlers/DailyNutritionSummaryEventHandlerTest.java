@@ -0,0 +1,103 @@
+package pe.edu.upc.center.agecare.nutrition.application.internal.eventhandlers;
+
+import org.junit.jupiter.api.Test;
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntryCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.RebuildDailyNutritionSummariesCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.RecomputeDailyNutritionSummaryCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.events.FoodEntryCreatedEvent;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+import pe.edu.upc.center.agecare.nutrition.domain.services.DailyNutritionSummaryCommandService;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the handler outside a transaction, so every event is queued straight away, against a command service
+ * that only records how its recomputes overlap.
+ */
+class DailyNutritionSummaryEventHandlerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+
+    @Test
+    void aKeyChangedWhileItIsRecomputedRunsOnceMoreOnTheSameClaim() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var service = new RecordingCommandService(started, release);
+        var handler = handler(service, 2);
+
+        handler.on(created(7));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            handler.on(created(7));
+        }
+        release.countDown();
+        handler.stop();
+
+        assertEquals(2, service.recomputes.get());
+        assertEquals(1, service.maxRunning.get());
+    }
+
+    @Test
+    void stopDrainsTheQueuedKeys() throws Exception {
+        var service = new RecordingCommandService(new CountDownLatch(1), new CountDownLatch(0));
+        var handler = handler(service, 1);
+
+        for (long residentId = 1; residentId <= 50; residentId++) {
+            handler.on(created(residentId));
+        }
+        handler.stop();
+
+        assertEquals(50, service.recomputes.get());
+    }
+
+    private static DailyNutritionSummaryEventHandler handler(DailyNutritionSummaryCommandService service, int workers) {
+        var handler = new DailyNutritionSummaryEventHandler(service, workers, false, Duration.ofSeconds(10));
+        handler.start();
+        return handler;
+    }
+
+    private static FoodEntryCreatedEvent created(long residentId) {
+        return new FoodEntryCreatedEvent(new FoodEntry(new CreateFoodEntryCommand(MealType.LUNCH, "Rice", DAY,
+                LocalTime.NOON, "Nurse", 1L, residentId)));
+    }
+
+    private static class RecordingCommandService implements DailyNutritionSummaryCommandService {
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+        private final AtomicInteger recomputes = new AtomicInteger();
+
+        RecordingCommandService(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public void handle(RecomputeDailyNutritionSummaryCommand command) {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            recomputes.incrementAndGet();
+            running.decrementAndGet();
+        }
+
+        @Override
+        public boolean handle(RebuildDailyNutritionSummariesCommand command) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package pe.edu.upc.center.agecare.nutrition.application.internal.queryservices;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntryCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.projections.FoodEntryView;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetFoodEntriesByDateQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetFoodEntriesByResidentIdQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetFoodEntryByIdQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryCommandService;
+import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryQueryService;
+import pe.edu.upc.center.agecare.shared.infrastructure.persistence.jdbc.ReadWriteRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the query handlers against two embedded databases, a primary and a replica that only catches up when
+ * the test copies the primary over, and checks which of them each read was served from.
+ */
+@ActiveProfiles("embedded")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class FoodEntryReplicaRoutingHarnessTest {
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:nutrition_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final JdbcTemplate REPLICA = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    private static final Duration READ_YOUR_WRITES_WINDOW = Duration.ofSeconds(1);
+    private static final LocalDate TODAY = LocalDate.of(2024, 5, 1);
+
+    // Each read uses its own page size so it is a separate query cache key and always reaches a database
+    private static final AtomicInteger PAGE_SIZE = new AtomicInteger(100);
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        // Created before the context starts, so the replica pool connects from the first health check
+        REPLICA.execute("select 1");
+        // The service only opens the replica if it exists, so shutting it down makes it unreachable
+        registry.add("nutrition.datasource.replicas.urls", () -> REPLICA_URL + ";IFEXISTS=TRUE");
+        registry.add("nutrition.datasource.replicas.username", () -> "sa");
+        registry.add("nutrition.datasource.replicas.password", () -> "");
+        registry.add("nutrition.datasource.replicas.connection-timeout", () -> "500ms");
+        registry.add("nutrition.datasource.replicas.health-check-interval", () -> "3600000");
+        registry.add("nutrition.datasource.replicas.read-your-writes-window", READ_YOUR_WRITES_WINDOW::toString);
+        registry.add("nutrition.notifications.outbox.poll-interval", () -> "3600000");
+    }
+
+    @Autowired
+    private FoodEntryCommandService foodEntryCommandService;
+
+    @Autowired
+    private FoodEntryQueryService foodEntryQueryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void reset() {
+        jdbcTemplate.update("delete from food_entries");
+        replicate();
+        routing().checkHealth();
+    }
+
+    @Test
+    void residentsWithoutRecentWritesAreReadFromTheReplica() {
+        insert(REPLICA, 1_000_000L, 8L, "Only on the replica");
+        insert(jdbcTemplate, 1_000_001L, 8L, "Only on the primary");
+
+        assertEquals(List.of("Only on the replica"), descriptionsOfResident(8L));
+    }
+
+    @Test
+    void residentJustWrittenIsReadFromThePrimaryUntilTheWindowPasses() throws InterruptedException {
+        var created = foodEntryCommandService.handle(new CreateFoodEntryCommand(
+                MealType.LUNCH, "Rice and chicken", TODAY, LocalTime.of(12, 30), "Nurse", 1L, 7L)).orElseThrow();
+
+        assertEquals(List.of("Rice and chicken"), descriptionsOfResident(7L));
+        assertTrue(foodEntryQueryService.handle(new GetFoodEntryByIdQuery(created.getId())).isPresent());
+
+        Thread.sleep(READ_YOUR_WRITES_WINDOW.plusMillis(200));
+
+        // The replica has not caught up, so once the window has passed the entry is not visible yet
+        assertEquals(List.of(), descriptionsOfResident(7L));
+        replicate();
+        assertEquals(List.of("Rice and chicken"), descriptionsOfResident(7L));
+    }
+
+    @Test
+    void dayJustWrittenIsReadFromThePrimaryUntilTheWindowPasses() throws InterruptedException {
+        var day = TODAY.plusDays(1);
+        foodEntryCommandService.handle(new CreateFoodEntryCommand(
+                MealType.DINNER, "Vegetable soup", day, LocalTime.of(19, 0), "Nurse", 1L, 10L)).orElseThrow();
+
+        assertEquals(List.of("Vegetable soup"), descriptionsOfDay(day));
+
+        Thread.sleep(READ_YOUR_WRITES_WINDOW.plusMillis(200));
+
+        assertEquals(List.of(), descriptionsOfDay(day));
+    }
+
+    @Test
+    void unreachableReplicaIsEjectedAndReadmittedOnceItRecovers() throws InterruptedException {
+        insert(jdbcTemplate, 1_000_002L, 9L, "Only on the primary");
+        assertEquals(List.of(), descriptionsOfResident(9L));
+
+        REPLICA.execute("SHUTDOWN");
+        routing().checkHealth();
+        routing().checkHealth();
+
+        assertEquals(0.0, healthyReplicas());
+        assertEquals(List.of("Only on the primary"), descriptionsOfResident(9L));
+
+        replicate();
+        insert(REPLICA, 1_000_003L, 9L, "Only on the replica");
+        // Past Hikari's alive-bypass window, so the connections to the old replica are validated and replaced
+        Thread.sleep(600);
+        routing().checkHealth();
+
+        assertEquals(1.0, healthyReplicas());
+        assertEquals(List.of("Only on the primary", "Only on the replica"), descriptionsOfResident(9L));
+    }
+
+    private List<String> descriptionsOfResident(Long residentId) {
+        return foodEntryQueryService.handle(new GetFoodEntriesByResidentIdQuery(residentId, null, PAGE_SIZE.incrementAndGet()))
+                .stream()
+                .map(FoodEntryView::description)
+                .toList();
+    }
+
+    private List<String> descriptionsOfDay(LocalDate date) {
+        return foodEntryQueryService.handle(new GetFoodEntriesByDateQuery(date, null, PAGE_SIZE.incrementAndGet()))
+                .stream()
+                .map(FoodEntryView::description)
+                .toList();
+    }
+
+    private double healthyReplicas() {
+        return meterRegistry.get("nutrition.datasource.replicas.healthy").gauge().value();
+    }
+
+    private ReadWriteRoutingDataSource routing() {
+        return (ReadWriteRoutingDataSource) dataSource;
+    }
+
+    // Stands in for replication: the replica is replaced with a copy of the primary's current contents
+    private void replicate() {
+        var script = jdbcTemplate.queryForList("script", String.class);
+        REPLICA.execute("drop all objects");
+        script.forEach(REPLICA::execute);
+    }
+
+    private static void insert(JdbcTemplate database, Long id, Long residentId, String description) {
+        var now = new Timestamp(System.currentTimeMillis());
+        database.update("insert into food_entries (id, meal, description, date, time, added_by, added_by_id, "
+                        + "resident_id, version, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)",
+                id, MealType.DINNER.name(), description, TODAY, LocalTime.of(19, 0), "Nurse", 1L, residentId, now, now);
+    }
+}
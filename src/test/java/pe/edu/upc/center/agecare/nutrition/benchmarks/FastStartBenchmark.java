@@ -0,0 +1,134 @@
+package pe.edu.upc.center.agecare.nutrition.benchmarks;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Starts the packaged application as a separate process, the way a container does, and reports the median time
+ * until {@code /actuator/health} answers 200 and the latency of the first food entry list request: once from the
+ * plain jar with the prod profile, once from the fast-start directory with its AOT code and class-data-sharing
+ * archive. Needs a {@code mvn -Pfast-start package -DskipTests} build and a MySQL database:
+ * {@code mvn test -Pbenchmark -Dtest=FastStartBenchmark -Dbenchmark.jdbcUrl=jdbc:mysql://...
+ * -Dbenchmark.username=... -Dbenchmark.password=... [-Dbenchmark.runs=5]}.
+ */
+@Tag("benchmark")
+class FastStartBenchmark {
+
+    private static final String JDBC_URL = System.getProperty("benchmark.jdbcUrl");
+    private static final Path TARGET = Path.of("target");
+    private static final Path FAST_START = TARGET.resolve("fast-start");
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(3);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @Test
+    void currentBuildAgainstFastStart() throws Exception {
+        assumeTrue(JDBC_URL != null, "benchmark.jdbcUrl is not set");
+        assumeTrue(Files.exists(FAST_START.resolve("application.jsa")), "no fast-start build in target/fast-start");
+        int runs = Integer.getInteger("benchmark.runs", 5);
+        var jar = findJar();
+
+        var current = new ArrayList<Startup>();
+        var fastStart = new ArrayList<Startup>();
+        for (int i = 0; i < runs; i++) {
+            current.add(start(TARGET, List.of("-jar", jar.toAbsolutePath().toString(), "--spring.profiles.active=prod")));
+            fastStart.add(start(FAST_START, List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true",
+                    "-jar", "application.jar", "--spring.profiles.active=prod,fast-start")));
+        }
+
+        System.out.printf("Starting the application %d times each (medians)%n", runs);
+        System.out.printf("  %-14s %16s %22s%n", "build", "ready (ms)", "first request (ms)");
+        print("current", current);
+        print("fast-start", fastStart);
+    }
+
+    private Startup start(Path directory, List<String> arguments) throws Exception {
+        int port = freePort();
+        var command = new ArrayList<String>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(arguments);
+        command.addAll(List.of("--server.port=" + port,
+                "--nutrition.missed-meals.enabled=false",
+                "--spring.datasource.url=" + JDBC_URL,
+                "--spring.datasource.username=" + System.getProperty("benchmark.username", "root"),
+                "--spring.datasource.password=" + System.getProperty("benchmark.password", "")));
+
+        var log = Files.createTempFile("fast-start-benchmark", ".log");
+        long start = System.nanoTime();
+        var process = new ProcessBuilder(command).directory(directory.toFile())
+                .redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            var base = "http://localhost:" + port;
+            while (get(base + "/actuator/health") != 200) {
+                if (!process.isAlive() || System.nanoTime() - start > START_TIMEOUT.toNanos()) {
+                    throw new IllegalStateException("Application did not become ready, see " + log);
+                }
+                Thread.sleep(10);
+            }
+            long ready = System.nanoTime();
+            assertEquals(200, get(base + "/api/v1/food-entries?limit=20"));
+            long firstRequest = System.nanoTime();
+            Files.delete(log);
+            return new Startup((ready - start) / 1e6, (firstRequest - ready) / 1e6);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private int get(String url) throws InterruptedException {
+        try {
+            return client.send(HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            // Not listening yet
+            return -1;
+        }
+    }
+
+    private static void print(String name, List<Startup> startups) {
+        System.out.printf("  %-14s %16.0f %22.1f%n", name,
+                median(startups.stream().mapToDouble(Startup::readyMillis).toArray()),
+                median(startups.stream().mapToDouble(Startup::firstRequestMillis).toArray()));
+    }
+
+    private static double median(double[] values) {
+        Arrays.sort(values);
+        int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+    }
+
+    private static Path findJar() throws IOException {
+        try (var jars = Files.list(TARGET)) {
+            return jars.filter(path -> path.getFileName().toString().endsWith(".jar"))
+                    .filter(path -> !path.getFileName().toString().endsWith("-plain.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No packaged jar in target"));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Startup(double readyMillis, double firstRequestMillis) {
+    }
+}
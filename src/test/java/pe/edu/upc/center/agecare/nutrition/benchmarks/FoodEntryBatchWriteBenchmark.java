@@ -0,0 +1,90 @@
+package pe.edu.upc.center.agecare.nutrition.benchmarks;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories.FoodEntryRepository;
+import pe.edu.upc.center.agecare.nutrition.support.StubNotificationServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static pe.edu.upc.center.agecare.nutrition.support.FoodEntryRequests.foodEntriesJson;
+import static pe.edu.upc.center.agecare.nutrition.support.FoodEntryRequests.foodEntryJson;
+
+/**
+ * Compares creating food entries with one POST each against a single POST to the batch endpoint.
+ * Run with {@code mvn test -Pbenchmark -Dtest=FoodEntryBatchWriteBenchmark -Dbenchmark.entries=1000}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("embedded")
+@SpringBootTest
+@AutoConfigureMockMvc
+class FoodEntryBatchWriteBenchmark {
+
+    private static final StubNotificationServer NOTIFICATIONS = new StubNotificationServer();
+
+    @DynamicPropertySource
+    static void notificationService(DynamicPropertyRegistry registry) {
+        registry.add("services.notifications.url", NOTIFICATIONS::url);
+    }
+
+    @AfterAll
+    static void stopNotificationService() {
+        NOTIFICATIONS.close();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FoodEntryRepository foodEntryRepository;
+
+    @Test
+    void singlePostsAgainstOneBatch() throws Exception {
+        int entries = Integer.getInteger("benchmark.entries", 1_000);
+
+        // Warm up both paths so the comparison is not dominated by class loading and JIT
+        createOneByOne(50);
+        createInBatch(50);
+        foodEntryRepository.deleteAllInBatch();
+
+        long start = System.nanoTime();
+        createOneByOne(entries);
+        double singleMillis = (System.nanoTime() - start) / 1e6;
+
+        start = System.nanoTime();
+        createInBatch(entries);
+        double batchMillis = (System.nanoTime() - start) / 1e6;
+
+        System.out.printf("Creating %d food entries%n", entries);
+        System.out.printf("  %-16s %10.1f ms%n", "single POSTs", singleMillis);
+        System.out.printf("  %-16s %10.1f ms (%.1fx)%n", "one batch POST", batchMillis, singleMillis / batchMillis);
+        assertEquals(2L * entries, foodEntryRepository.count());
+    }
+
+    private void createOneByOne(int entries) throws Exception {
+        for (int i = 0; i < entries; i++) {
+            mockMvc.perform(post("/api/v1/food-entries")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(foodEntryJson(i)))
+                    .andExpect(status().isCreated());
+        }
+    }
+
+    private void createInBatch(int entries) throws Exception {
+        mockMvc.perform(post("/api/v1/food-entries/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(foodEntriesJson(0, entries)))
+                .andExpect(status().isCreated());
+    }
+
+}
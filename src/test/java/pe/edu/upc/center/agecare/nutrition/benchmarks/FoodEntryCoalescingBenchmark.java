@@ -0,0 +1,155 @@
+package pe.edu.upc.center.agecare.nutrition.benchmarks;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetFoodEntriesByDateQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryQueryService;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.caching.FoodEntryCacheInvalidation;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.caching.FoodEntryQueryCache;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories.FoodEntryRepository;
+import pe.edu.upc.center.agecare.nutrition.support.FoodEntrySeeder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Has {@code benchmark.stations} callers ask for the same day's food entries at once, right after a write has
+ * invalidated that day, the way every nursing station refreshes at the start of a meal. Compares each caller
+ * running its own query against the query service, which coalesces them, reporting statements prepared and the
+ * median time until every caller has its answer. Run with
+ * {@code mvn test -Pbenchmark -Dtest=FoodEntryCoalescingBenchmark [-Dbenchmark.stations=50 -Dbenchmark.rounds=50]}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("embedded")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class FoodEntryCoalescingBenchmark {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 5, 1);
+    private static final int ENTRIES_TODAY = 2_000;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private FoodEntryQueryService foodEntryQueryService;
+
+    @Autowired
+    private FoodEntryQueryCache foodEntryQueryCache;
+
+    @Autowired
+    private FoodEntryRepository foodEntryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void separateQueriesAgainstCoalesced() throws Exception {
+        int stations = Integer.getInteger("benchmark.stations", 50);
+        int rounds = Integer.getInteger("benchmark.rounds", 50);
+        FoodEntrySeeder.seed(jdbcTemplate, ENTRIES_TODAY * 5, i -> FoodEntrySeeder.entry(i, "Generated meal " + i,
+                TODAY.minusDays(i % 5), "Author", 1L, i % 500));
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Runnable separate = () -> assertEquals(ENTRIES_TODAY, readOnly.execute(status -> foodEntryRepository
+                .findByDateAndIdGreaterThanOrderByIdAsc(TODAY, 0L, Limit.unlimited())).size());
+        Runnable coalesced = () -> assertEquals(ENTRIES_TODAY,
+                foodEntryQueryService.handle(new GetFoodEntriesByDateQuery(TODAY, null, null)).size());
+
+        // Warm up both paths before measuring
+        run(separate, stations, statistics, rounds / 5 + 1);
+        run(coalesced, stations, statistics, rounds / 5 + 1);
+
+        var separateResult = run(separate, stations, statistics, rounds);
+        double executedBefore = calls("executed");
+        double coalescedBefore = calls("coalesced");
+        var coalescedResult = run(coalesced, stations, statistics, rounds);
+
+        System.out.printf("%d stations loading the %d entries of one day, %d rounds (medians per round)%n",
+                stations, ENTRIES_TODAY, rounds);
+        System.out.printf("  %-18s %14s %14s%n", "path", "statements", "time (ms)");
+        print("separate queries", separateResult);
+        print("coalesced", coalescedResult);
+        System.out.printf("  nutrition.query.calls: %.0f executed, %.0f coalesced%n",
+                calls("executed") - executedBefore, calls("coalesced") - coalescedBefore);
+    }
+
+    private Result run(Runnable read, int stations, Statistics statistics, int rounds) throws Exception {
+        var statements = new double[rounds];
+        var millis = new double[rounds];
+        // A thread per station, as request threads: the embedded database never blocks, so virtual threads
+        // would mostly run one after another
+        try (var executor = Executors.newFixedThreadPool(stations)) {
+            for (int round = 0; round < rounds; round++) {
+                foodEntryQueryCache.invalidate(new FoodEntryCacheInvalidation(null, null, Set.of(TODAY), Set.of()));
+                statistics.clear();
+                var start = new CountDownLatch(1);
+                var futures = new ArrayList<Future<?>>();
+                for (int i = 0; i < stations; i++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        read.run();
+                        return null;
+                    }));
+                }
+                long began = System.nanoTime();
+                start.countDown();
+                for (var future : futures) {
+                    future.get();
+                }
+                millis[round] = (System.nanoTime() - began) / 1e6;
+                statements[round] = statistics.getPrepareStatementCount();
+            }
+        }
+        return new Result(median(statements), median(millis));
+    }
+
+    private double calls(String result) {
+        return meterRegistry.find("nutrition.query.calls").tag("query", "foodEntriesByDate").tag("result", result)
+                .functionCounter().count();
+    }
+
+    private static void print(String name, Result result) {
+        System.out.printf("  %-18s %14.0f %14.1f%n", name, result.statements(), result.millis());
+    }
+
+    private static double median(double[] values) {
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    private record Result(double statements, double millis) {
+    }
+}
@@ -0,0 +1,121 @@
+package pe.edu.upc.center.agecare.nutrition.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import pe.edu.upc.center.agecare.nutrition.domain.model.aggregates.FoodEntry;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.ExportFoodEntriesCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.GetAllFoodEntriesQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryQueryService;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.export.FoodEntryCsvExporter;
+import pe.edu.upc.center.agecare.nutrition.interfaces.rest.transform.FoodEntryResourceFromEntityAssembler;
+import pe.edu.upc.center.agecare.nutrition.support.FoodEntrySeeder;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Compares exporting every food entry by paging through the list query the way the JSON API does (entities,
+ * resources and JSON, a page at a time) against the CSV exporter's JDBC cursor, reporting throughput and the
+ * bytes each allocates per row. The embedded database's own allocations are counted in both. Run with
+ * {@code mvn test -Pbenchmark -Dtest=FoodEntryExportBenchmark -Dbenchmark.rows=1000000}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("embedded")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class FoodEntryExportBenchmark {
+
+    private static final int PAGE_SIZE = 1_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 1, 1);
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("nutrition.export.progress-interval", () -> Long.MAX_VALUE);
+    }
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private FoodEntryQueryService foodEntryQueryService;
+
+    @Autowired
+    private FoodEntryCsvExporter foodEntryCsvExporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pagedJsonAgainstCursorExport() throws Exception {
+        int rows = Integer.getInteger("benchmark.rows", 1_000_000);
+        FoodEntrySeeder.seed(jdbcTemplate, rows, i -> FoodEntrySeeder.entry(i,
+                "Generated meal " + i + ", rice and \"steamed\" vegetables", FIRST_DAY.plusDays(i % 730),
+                "Author " + i % 200, i % 200, i % 5_000));
+
+        // One warm-up pass of each, so neither is charged for JIT compilation
+        pageThroughJson();
+        foodEntryCsvExporter.export(new ExportFoodEntriesCommand(null, null, null), directory.resolve("warm-up.csv.gz"));
+
+        var paged = measure(() -> pageThroughJson());
+        var target = directory.resolve("food-entries.csv.gz");
+        var exported = measure(() -> foodEntryCsvExporter.export(new ExportFoodEntriesCommand(null, null, null), target));
+
+        System.out.printf("Exporting %d food entries (%.1f MB gzip'd CSV)%n", rows, Files.size(target) / 1e6);
+        System.out.printf("  %-24s %12s %12s %16s%n", "path", "time (s)", "rows/s", "alloc/row (B)");
+        print("paged JSON, 1000/page", paged);
+        print("JDBC cursor to CSV", exported);
+    }
+
+    private long pageThroughJson() throws Exception {
+        long rows = 0;
+        Long after = null;
+        List<FoodEntry> page;
+        do {
+            page = foodEntryQueryService.handle(new GetAllFoodEntriesQuery(after, PAGE_SIZE));
+            var resources = page.stream().map(FoodEntryResourceFromEntityAssembler::toResourceFromEntity).toList();
+            objectMapper.writeValueAsBytes(resources);
+            rows += page.size();
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+        return rows;
+    }
+
+    // Both run on this thread, so its allocation counter covers everything they create, collected or not
+    private static Result measure(Export export) throws Exception {
+        var threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        long rows = export.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return new Result(seconds, rows, (double) (threads.getCurrentThreadAllocatedBytes() - allocated) / rows);
+    }
+
+    private static void print(String name, Result result) {
+        System.out.printf("  %-24s %12.2f %12.0f %16.0f%n", name, result.seconds(), result.rows() / result.seconds(),
+                result.bytesPerRow());
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        long run() throws Exception;
+    }
+
+    private record Result(double seconds, long rows, double bytesPerRow) {
+    }
+}
@@ -0,0 +1,149 @@
+package pe.edu.upc.center.agecare.nutrition.benchmarks;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pe.edu.upc.center.agecare.AgecareCenterPlatformApplication;
+import pe.edu.upc.center.agecare.nutrition.domain.model.queries.SearchFoodEntryDescriptionsQuery;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryCriteria;
+import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryQueryService;
+import pe.edu.upc.center.agecare.nutrition.support.FoodEntrySeeder;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures description search latency over a table of generated descriptions, through the FULLTEXT index and,
+ * for comparison, with the LIKE scan it replaces. The index is MySQL's, so this needs an empty MySQL database:
+ * {@code mvn test -Pbenchmark -Dtest=FoodEntryFullTextSearchBenchmark -Dbenchmark.jdbcUrl=jdbc:mysql://...
+ * -Dbenchmark.username=... -Dbenchmark.password=... [-Dbenchmark.rows=3000000]}. Without a URL it is skipped.
+ */
+@Tag("benchmark")
+class FoodEntryFullTextSearchBenchmark {
+
+    private static final String JDBC_URL = System.getProperty("benchmark.jdbcUrl");
+    private static final int RESIDENTS = 5_000;
+    private static final int DAYS = 730;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 1, 1);
+
+    private static final List<String> DISHES = List.of(
+            "oatmeal", "porridge", "scrambled eggs", "toast", "yogurt", "fruit salad", "chicken soup", "beef stew",
+            "rice", "mashed potatoes", "steamed vegetables", "grilled fish", "lentil soup", "pasta", "tofu",
+            "pumpkin puree", "banana", "apple compote", "custard", "whole wheat bread", "quinoa", "roast turkey",
+            "vegetable broth", "cottage cheese", "spinach", "carrots", "green beans", "pancakes", "smoothie", "tea");
+    private static final List<String> NOTES = List.of(
+            "lactose-free", "gluten-free", "low-sodium", "sugar-free", "pureed", "minced", "soft texture",
+            "thickened liquids", "diabetic portion", "extra protein", "ate half", "ate everything", "refused dessert",
+            "needed assistance", "with supplement", "small portion", "second helping", "no salt added");
+    private static final List<String> SEARCHES = List.of(
+            "lactose-free", "chicken soup", "pureed pumpkin", "gluten-free bread", "refused", "thickened liquids");
+
+    @Test
+    void searchLatencyOverGeneratedDescriptions() {
+        assumeTrue(JDBC_URL != null, "Set -Dbenchmark.jdbcUrl to an empty MySQL database");
+        int rows = Integer.getInteger("benchmark.rows", 3_000_000);
+        int iterations = Integer.getInteger("benchmark.iterations", 200);
+        int scans = Integer.getInteger("benchmark.scans", 3);
+
+        try (var context = start()) {
+            var jdbcTemplate = context.getBean(JdbcTemplate.class);
+            var queryService = context.getBean(FoodEntryQueryService.class);
+
+            // Loading into an indexed table maintains the index row by row; building it afterwards is much faster
+            jdbcTemplate.execute("alter table food_entries drop index ft_food_entries_description");
+            long seedStart = System.nanoTime();
+            seed(jdbcTemplate, rows);
+            double seedSeconds = (System.nanoTime() - seedStart) / 1e9;
+            long indexStart = System.nanoTime();
+            jdbcTemplate.execute("alter table food_entries add fulltext index ft_food_entries_description (description)");
+            double indexSeconds = (System.nanoTime() - indexStart) / 1e9;
+
+            var unfiltered = new FoodEntryCriteria(null, null, null, null, null);
+            var scan = time(scans, i -> jdbcTemplate.queryForList(
+                    "select id from food_entries where description like ? order by id limit 20",
+                    Long.class, "%" + SEARCHES.get(i % SEARCHES.size()) + "%"));
+            var search = time(iterations, i -> queryService.handle(new SearchFoodEntryDescriptionsQuery(
+                    SEARCHES.get(i % SEARCHES.size()), unfiltered, 0, 20)));
+            var byResident = time(iterations, i -> queryService.handle(new SearchFoodEntryDescriptionsQuery(
+                    SEARCHES.get(i % SEARCHES.size()),
+                    new FoodEntryCriteria(Set.of((long) (i * 37 % RESIDENTS)), null, null, null, null), 0, 20)));
+            var byDates = time(iterations, i -> queryService.handle(new SearchFoodEntryDescriptionsQuery(
+                    SEARCHES.get(i % SEARCHES.size()),
+                    new FoodEntryCriteria(null, FIRST_DAY.plusDays(i % DAYS), FIRST_DAY.plusDays(i % DAYS + 30), null, null),
+                    0, 20)));
+            var deepPage = time(iterations, i -> queryService.handle(new SearchFoodEntryDescriptionsQuery(
+                    SEARCHES.get(i % SEARCHES.size()), unfiltered, 1_000, 20)));
+
+            System.out.printf("Description search over %d rows: seeded in %.0f s, FULLTEXT index built in %.0f s%n",
+                    rows, seedSeconds, indexSeconds);
+            System.out.printf("  %-26s %10s %10s %10s %10s%n", "query (20 per page)", "mean (ms)", "p50 (ms)", "p95 (ms)", "max (ms)");
+            print("LIKE scan", scan);
+            print("full-text", search);
+            print("full-text, one resident", byResident);
+            print("full-text, 30 days", byDates);
+            print("full-text, offset 1000", deepPage);
+            System.out.printf("  full-text p95 under 50 ms: %s%n", Arrays.stream(new double[][]{search, byResident, byDates})
+                    .allMatch(samples -> percentile(samples, 0.95) < 50));
+        }
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(AgecareCenterPlatformApplication.class)
+                .profiles("prod")
+                .run("--spring.main.web-application-type=none",
+                        "--nutrition.missed-meals.enabled=false",
+                        "--spring.datasource.url=" + JDBC_URL,
+                        "--spring.datasource.username=" + System.getProperty("benchmark.username", "root"),
+                        "--spring.datasource.password=" + System.getProperty("benchmark.password", ""));
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        var random = new Random(42);
+        FoodEntrySeeder.seed(jdbcTemplate, rows, i -> FoodEntrySeeder.entry(i, description(random),
+                FIRST_DAY.plusDays(i / (rows / DAYS + 1)), "Benchmark", i % 200, i % RESIDENTS));
+    }
+
+    // Two or three dishes and, most of the time, a care note, so every search term is common but not universal
+    private static String description(Random random) {
+        var description = new StringBuilder();
+        int dishes = 2 + random.nextInt(2);
+        for (int i = 0; i < dishes; i++) {
+            description.append(i == 0 ? "" : i == dishes - 1 ? " and " : ", ").append(DISHES.get(random.nextInt(DISHES.size())));
+        }
+        if (random.nextInt(4) > 0) {
+            description.append(", ").append(NOTES.get(random.nextInt(NOTES.size())));
+        }
+        return description.toString();
+    }
+
+    private static double[] time(int iterations, IntFunction<?> search) {
+        for (int i = 0; i < Math.min(iterations, 10); i++) {
+            search.apply(i);
+        }
+        var samples = new double[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            search.apply(i);
+            samples[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static void print(String name, double[] samples) {
+        System.out.printf("  %-26s %10.2f %10.2f %10.2f %10.2f%n", name, Arrays.stream(samples).average().orElse(0),
+                percentile(samples, 0.5), percentile(samples, 0.95), samples[samples.length - 1]);
+    }
+
+    private static double percentile(double[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
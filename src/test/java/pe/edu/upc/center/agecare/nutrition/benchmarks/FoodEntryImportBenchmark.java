@@ -0,0 +1,101 @@
+package pe.edu.upc.center.agecare.nutrition.benchmarks;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import pe.edu.upc.center.agecare.AgecareCenterPlatformApplication;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntryCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.ImportFoodEntriesCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryImportFormat;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryImportResult;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryCommandService;
+import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryImportCommandService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares creating food entries one at a time, as replaying them through the create endpoint does, against
+ * importing a generated CSV file of {@code benchmark.rows} entries, one in every thousand of them invalid. Runs
+ * on the embedded database, or on an empty MySQL database when a URL is given:
+ * {@code mvn test -Pbenchmark -Dtest=FoodEntryImportBenchmark [-Dbenchmark.rows=1000000]
+ * [-Dbenchmark.jdbcUrl=jdbc:mysql://... -Dbenchmark.username=... -Dbenchmark.password=...]}.
+ */
+@Tag("benchmark")
+class FoodEntryImportBenchmark {
+
+    private static final String JDBC_URL = System.getProperty("benchmark.jdbcUrl");
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void singleCreatesAgainstImport() throws IOException {
+        int rows = Integer.getInteger("benchmark.rows", 1_000_000);
+        int singles = Integer.getInteger("benchmark.singles", 2_000);
+        var file = directory.resolve("food-entries.csv");
+        generate(file, rows);
+
+        try (var context = start()) {
+            var commandService = context.getBean(FoodEntryCommandService.class);
+            var importService = context.getBean(FoodEntryImportCommandService.class);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < singles; i++) {
+                var meal = MealType.values()[i % 3];
+                commandService.handle(new CreateFoodEntryCommand(meal, "Single " + i, FIRST_DAY.plusDays(i % 1_500),
+                        LocalTime.of(7 + meal.ordinal() * 5, i % 60), "Benchmark", 1L, (long) (i % 5_000)));
+            }
+            double singleSeconds = (System.nanoTime() - start) / 1e9;
+
+            FoodEntryImportResult result;
+            start = System.nanoTime();
+            try (var content = Files.newInputStream(file)) {
+                result = importService.handle(new ImportFoodEntriesCommand(FoodEntryImportFormat.CSV, content)).orElseThrow();
+            }
+            double importSeconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("Importing %d food entries (%.0f MB of CSV)%n", rows, Files.size(file) / 1e6);
+            System.out.printf("  %-20s %10s %10s %12s%n", "path", "rows", "time (s)", "rows/s");
+            System.out.printf("  %-20s %10d %10.2f %12.0f%n", "single creates", singles, singleSeconds, singles / singleSeconds);
+            System.out.printf("  %-20s %10d %10.2f %12.0f%n", "import", result.read(), importSeconds, result.read() / importSeconds);
+            System.out.printf("  single creates would take %.0f min for the whole file%n", rows / (singles / singleSeconds) / 60);
+            assertEquals(rows / 1_000, result.rejected());
+            assertEquals(rows - rows / 1_000, result.imported());
+        }
+    }
+
+    private static ConfigurableApplicationContext start() {
+        var application = new SpringApplicationBuilder(AgecareCenterPlatformApplication.class);
+        if (JDBC_URL == null) {
+            return application.profiles("embedded").run("--spring.main.web-application-type=none");
+        }
+        return application.run("--spring.main.web-application-type=none",
+                "--spring.datasource.url=" + JDBC_URL,
+                "--spring.datasource.username=" + System.getProperty("benchmark.username", "root"),
+                "--spring.datasource.password=" + System.getProperty("benchmark.password", ""));
+    }
+
+    private static void generate(Path file, int rows) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("meal,description,date,time,added_by,added_by_id,resident_id\n");
+            for (int i = 0; i < rows; i++) {
+                var meal = MealType.values()[i % 3];
+                // Every thousandth row has a date that does not exist
+                var date = i % 1_000 == 999 ? "2021-02-30" : FIRST_DAY.plusDays(i % 1_500).toString();
+                writer.write(meal.name() + ",\"Imported meal " + i + ", rice and vegetables\"," + date + ","
+                        + LocalTime.of(7 + meal.ordinal() * 5, i % 60) + ",Paper log," + (i % 200) + "," + (i % 5_000) + "\n");
+            }
+        }
+    }
+}
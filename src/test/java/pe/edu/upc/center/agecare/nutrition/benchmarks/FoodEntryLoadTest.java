@@ -0,0 +1,115 @@
+package pe.edu.upc.center.agecare.nutrition.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import pe.edu.upc.center.agecare.nutrition.support.LoadDriver;
+import pe.edu.upc.center.agecare.nutrition.support.StubNotificationServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static pe.edu.upc.center.agecare.nutrition.support.FoodEntryRequests.*;
+
+/**
+ * Drives mixed create/update/list traffic against the running service over HTTP and reports
+ * requests per second, latency percentiles and a latency histogram per endpoint.
+ * Run with {@code mvn test -Pbenchmark -Dtest=FoodEntryLoadTest}; tune with {@code -Dload.concurrency},
+ * {@code -Dload.durationSeconds}, {@code -Dload.warmupSeconds}, {@code -Dload.seedEntries},
+ * {@code -Dload.notificationLatencyMs} and {@code -Dload.notificationFailureRate}.
+ * The report is also written to {@code target/load-test-report.txt}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("embedded")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class FoodEntryLoadTest {
+
+    private static final StubNotificationServer NOTIFICATIONS = new StubNotificationServer()
+            .withLatency(Duration.ofMillis(Long.getLong("load.notificationLatencyMs", 0)))
+            .withFailureRate(Double.parseDouble(System.getProperty("load.notificationFailureRate", "0")));
+
+    @DynamicPropertySource
+    static void notificationService(DynamicPropertyRegistry registry) {
+        registry.add("services.notifications.url", NOTIFICATIONS::url);
+        // A short lease keeps an in-flight relay batch from holding up context shutdown after the run
+        registry.add("nutrition.notifications.outbox.lease", () -> "5s");
+    }
+
+    @AfterAll
+    static void stopNotificationService() {
+        NOTIFICATIONS.close();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Long> foodEntryIds = new CopyOnWriteArrayList<>();
+
+    @Test
+    void mixedTraffic() throws Exception {
+        int concurrency = Integer.getInteger("load.concurrency", 32);
+        var warmup = Duration.ofSeconds(Integer.getInteger("load.warmupSeconds", 5));
+        var duration = Duration.ofSeconds(Integer.getInteger("load.durationSeconds", 30));
+        seed(Integer.getInteger("load.seedEntries", 5_000));
+
+        var report = new LoadDriver()
+                .operation("POST create", 25, () -> post(port, "/api/v1/food-entries", foodEntryJson(random(100_000))),
+                        this::rememberId)
+                .operation("PUT update", 15, () -> put(port, "/api/v1/food-entries/" + randomFoodEntryId(), updateJson()))
+                .operation("GET list page", 20, () -> get(port, "/api/v1/food-entries?limit=50&after=" + randomFoodEntryId()))
+                .operation("GET by id", 10, () -> get(port, "/api/v1/food-entries/" + randomFoodEntryId()))
+                .operation("GET by resident", 15, () -> get(port, "/api/v1/food-entries/resident/" + random(RESIDENTS) + "?limit=50"))
+                .operation("GET by date", 10, () -> get(port, "/api/v1/food-entries/date/" + randomDay() + "?limit=50"))
+                .operation("GET search", 5, () -> get(port, "/api/v1/food-entries/search?residentId=" + random(RESIDENTS)
+                        + "&from=" + FIRST_DAY + "&to=" + FIRST_DAY.plusDays(90) + "&limit=50"))
+                .run(concurrency, warmup, duration);
+
+        System.out.print(report.format());
+        System.out.printf("Notifications stub: %d delivered, %d rejected%n", NOTIFICATIONS.received(), NOTIFICATIONS.rejected());
+        report.writeTo(Path.of("target", "load-test-report.txt"));
+        assertEquals(0, report.errors("GET by id"));
+    }
+
+    private void seed(int entries) throws IOException, InterruptedException {
+        var client = HttpClient.newHttpClient();
+        for (int from = 0; from < entries; from += 1_000) {
+            var body = foodEntriesJson(from, Math.min(entries, from + 1_000));
+            var response = client.send(post(port, "/api/v1/food-entries/batch", body), HttpResponse.BodyHandlers.ofString());
+            objectMapper.readTree(response.body()).forEach(result -> foodEntryIds.add(result.get("foodEntry").get("id").asLong()));
+        }
+    }
+
+    private void rememberId(String body) {
+        try {
+            foodEntryIds.add(objectMapper.readTree(body).get("id").asLong());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long randomFoodEntryId() {
+        return foodEntryIds.get(random(foodEntryIds.size()));
+    }
+
+    private static String updateJson() {
+        return """
+                {"meal":"DINNER","description":"Updated by load test","date":"%s","time":"19:00"}""".formatted(randomDay());
+    }
+}
@@ -0,0 +1,86 @@
+package pe.edu.upc.center.agecare.nutrition.benchmarks;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+import pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories.FoodEntryRepository;
+import pe.edu.upc.center.agecare.nutrition.support.FoodEntrySeeder;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Compares food entry lookup latency without and with the food_entries indexes over a generated table.
+ * Run with {@code mvn test -Pbenchmark -Dtest=FoodEntryLookupBenchmark -Dbenchmark.rows=2000000}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("embedded")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class FoodEntryLookupBenchmark {
+
+    private static final int RESIDENTS = 5_000;
+    private static final int AUTHORS = 200;
+    private static final int DAYS = 730;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 1, 1);
+
+    private static final List<String> INDEXES = List.of(
+            "idx_food_entries_resident_id_date on food_entries (resident_id, date)",
+            "idx_food_entries_date_meal on food_entries (date, meal)",
+            "idx_food_entries_added_by_id on food_entries (added_by_id)");
+
+    @Autowired
+    private FoodEntryRepository foodEntryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void lookupLatencyBeforeAndAfterIndexes() {
+        int rows = Integer.getInteger("benchmark.rows", 2_000_000);
+        int iterations = Integer.getInteger("benchmark.iterations", 50);
+        FoodEntrySeeder.seed(jdbcTemplate, rows, i -> FoodEntrySeeder.entry(i, "Generated meal " + i,
+                FIRST_DAY.plusDays(i / (rows / DAYS + 1)), "Author " + i % AUTHORS, i % AUTHORS, i % RESIDENTS));
+
+        INDEXES.forEach(index -> jdbcTemplate.execute("drop index if exists " + index.substring(0, index.indexOf(' '))));
+        var before = measure(iterations);
+        INDEXES.forEach(index -> jdbcTemplate.execute("create index " + index));
+        var after = measure(iterations);
+
+        System.out.printf("Food entry lookups over %d rows (mean of %d runs)%n", rows, iterations);
+        System.out.printf("  %-28s %14s %14s%n", "query", "no index (ms)", "indexed (ms)");
+        before.forEach((query, millis) ->
+                System.out.printf("  %-28s %14.3f %14.3f%n", query, millis, after.get(query)));
+    }
+
+    private Map<String, Double> measure(int iterations) {
+        Map<String, Double> results = new LinkedHashMap<>();
+        var day = FIRST_DAY.plusDays(DAYS / 2);
+        results.put("findByResidentId", time(iterations, i -> foodEntryRepository.findByResidentId((long) (i * 37 % RESIDENTS))));
+        results.put("findByDate", time(iterations, i -> foodEntryRepository.findByDate(day.plusDays(i % 30))));
+        results.put("findByAddedById", time(iterations, i -> foodEntryRepository.findByAddedById((long) (i % AUTHORS))));
+        results.put("resident and date", time(iterations, i -> jdbcTemplate.queryForList(
+                "select id from food_entries where resident_id = ? and date = ?", (long) (i * 37 % RESIDENTS), Date.valueOf(day))));
+        results.put("date and meal", time(iterations, i -> jdbcTemplate.queryForList(
+                "select id from food_entries where date = ? and meal = ?", Date.valueOf(day.plusDays(i % 30)), MealType.LUNCH.name())));
+        return results;
+    }
+
+    private static double time(int iterations, IntFunction<?> lookup) {
+        for (int i = 0; i < 3; i++) {
+            lookup.apply(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            lookup.apply(i);
+        }
+        return (System.nanoTime() - start) / 1e6 / iterations;
+    }
+}
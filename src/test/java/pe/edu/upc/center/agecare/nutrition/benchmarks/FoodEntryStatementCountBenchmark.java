@@ -0,0 +1,99 @@
+package pe.edu.upc.center.agecare.nutrition.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reports the SQL statements Hibernate prepares for a single create and a single update request.
+ * Run with {@code mvn test -Pbenchmark -Dtest=FoodEntryStatementCountBenchmark -Dbenchmark.requests=200}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("embedded")
+@SpringBootTest
+@AutoConfigureMockMvc
+class FoodEntryStatementCountBenchmark {
+
+    @DynamicPropertySource
+    static void statistics(DynamicPropertyRegistry registry) {
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        // Keep the outbox relay from polling while statements are counted
+        registry.add("nutrition.notifications.outbox.poll-interval", () -> "3600000");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void statementsPerCreateAndUpdate() throws Exception {
+        int requests = Integer.getInteger("benchmark.requests", 200);
+        var foodEntryIds = new long[requests];
+
+        statistics.clear();
+        for (int i = 0; i < requests; i++) {
+            var response = create(i).andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+            foodEntryIds[i] = objectMapper.readTree(response).get("id").asLong();
+        }
+        report("create", requests);
+
+        statistics.clear();
+        for (int i = 0; i < requests; i++) {
+            update(foodEntryIds[i], i).andExpect(status().isOk());
+        }
+        report("update", requests);
+    }
+
+    private ResultActions create(int i) throws Exception {
+        return mockMvc.perform(post("/api/v1/food-entries")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"meal":"LUNCH","description":"Benchmark meal %d","date":"2024-05-01","time":"12:30",\
+                        "addedBy":"Benchmark","addedById":1,"residentId":%d}""".formatted(i, i % 50)));
+    }
+
+    private ResultActions update(long foodEntryId, int i) throws Exception {
+        return mockMvc.perform(put("/api/v1/food-entries/" + foodEntryId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"meal":"DINNER","description":"Updated meal %d","date":"2024-05-02","time":"19:00"}""".formatted(i)));
+    }
+
+    // Inserts include the outbox row written with every created entry and the amortized sequence fetches
+    private void report(String operation, int requests) {
+        System.out.printf("%s: %d requests%n", operation, requests);
+        System.out.printf("  %-26s %8.2f%n", "statements per request", (double) statistics.getPrepareStatementCount() / requests);
+        System.out.printf("  %-26s %8.2f%n", "entity loads per request", (double) statistics.getEntityLoadCount() / requests);
+        System.out.printf("  %-26s %8.2f%n", "inserts per request", (double) statistics.getEntityInsertCount() / requests);
+        System.out.printf("  %-26s %8.2f%n", "updates per request", (double) statistics.getEntityUpdateCount() / requests);
+    }
+}
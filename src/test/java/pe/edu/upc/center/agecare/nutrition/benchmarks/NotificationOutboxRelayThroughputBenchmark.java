@@ -0,0 +1,90 @@
+package pe.edu.upc.center.agecare.nutrition.benchmarks;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntryCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryCommandService;
+import pe.edu.upc.center.agecare.nutrition.support.StubNotificationServer;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures food entry writes per second while the outbox relay drains notifications to a local stub.
+ * Run with {@code mvn test -Pbenchmark -Dtest=NotificationOutboxRelayThroughputBenchmark}; tune with
+ * {@code -Dbenchmark.writes}, {@code -Dbenchmark.threads} and {@code -Dbenchmark.notificationLatencyMs}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("embedded")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class NotificationOutboxRelayThroughputBenchmark {
+
+    private static final StubNotificationServer NOTIFICATIONS = new StubNotificationServer()
+            .withLatency(Duration.ofMillis(Long.getLong("benchmark.notificationLatencyMs", 20)));
+
+    @DynamicPropertySource
+    static void notificationService(DynamicPropertyRegistry registry) {
+        registry.add("services.notifications.url", NOTIFICATIONS::url);
+        registry.add("nutrition.notifications.outbox.poll-interval", () -> "100");
+    }
+
+    @AfterAll
+    static void stopNotificationService() {
+        NOTIFICATIONS.close();
+    }
+
+    @Autowired
+    private FoodEntryCommandService foodEntryCommandService;
+
+    @Test
+    void writesPerSecondWithRelayRunning() throws Exception {
+        int writes = Integer.getInteger("benchmark.writes", 5_000);
+        int threads = Integer.getInteger("benchmark.threads", 8);
+
+        var next = new AtomicInteger();
+        long start = System.nanoTime();
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                writers.add(executor.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < writes) {
+                        foodEntryCommandService.handle(new CreateFoodEntryCommand(
+                                MealType.values()[i % 3], "Benchmark meal " + i, LocalDate.of(2024, 5, 1), LocalTime.of(12, 30),
+                                "Benchmark", 1L, (long) (i % 500)));
+                    }
+                }));
+            }
+            for (var writer : writers) {
+                writer.get();
+            }
+        }
+        double writeSeconds = (System.nanoTime() - start) / 1e9;
+
+        long deadline = System.nanoTime() + Duration.ofMinutes(5).toNanos();
+        while (NOTIFICATIONS.received() < writes && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        double relaySeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Outbox relay benchmark: %d writes on %d threads%n", writes, threads);
+        System.out.printf("  writes/s           : %.1f (%.2fs)%n", writes / writeSeconds, writeSeconds);
+        System.out.printf("  notifications/s    : %.1f (all relayed after %.2fs)%n", NOTIFICATIONS.received() / relaySeconds, relaySeconds);
+        assertEquals(writes, NOTIFICATIONS.received());
+    }
+}
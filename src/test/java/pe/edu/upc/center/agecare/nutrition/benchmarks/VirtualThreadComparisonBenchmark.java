@@ -0,0 +1,73 @@
+package pe.edu.upc.center.agecare.nutrition.benchmarks;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import pe.edu.upc.center.agecare.AgecareCenterPlatformApplication;
+import pe.edu.upc.center.agecare.nutrition.support.LoadDriver;
+import pe.edu.upc.center.agecare.nutrition.support.StubNotificationServer;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static pe.edu.upc.center.agecare.nutrition.support.FoodEntryRequests.*;
+
+/**
+ * Runs the same HTTP traffic against the service booted with platform request threads and then with
+ * virtual threads, while the notifications stub answers slowly so the outbox relay keeps deliveries in flight.
+ * Run with {@code mvn test -Pbenchmark -Dtest=VirtualThreadComparisonBenchmark}; tune with
+ * {@code -Dload.concurrency}, {@code -Dload.durationSeconds}, {@code -Dload.platformThreads} and
+ * {@code -Dload.notificationLatencyMs}. The report is also written to {@code target/virtual-thread-report.txt}.
+ */
+@Tag("benchmark")
+class VirtualThreadComparisonBenchmark {
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        int concurrency = Integer.getInteger("load.concurrency", 256);
+        var warmup = Duration.ofSeconds(Integer.getInteger("load.warmupSeconds", 5));
+        var duration = Duration.ofSeconds(Integer.getInteger("load.durationSeconds", 20));
+        var latency = Duration.ofMillis(Long.getLong("load.notificationLatencyMs", 250));
+
+        var report = new StringBuilder();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            try (var notifications = new StubNotificationServer().withLatency(latency);
+                 var context = new SpringApplicationBuilder(AgecareCenterPlatformApplication.class)
+                         .profiles("embedded")
+                         // Command-line arguments, so they take precedence over application.properties
+                         .run("--server.port=0",
+                                 "--spring.datasource.url=jdbc:h2:mem:virtual_" + virtualThreads + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                                 "--spring.threads.virtual.enabled=" + virtualThreads,
+                                 "--server.tomcat.threads.max=" + Integer.getInteger("load.platformThreads", 50),
+                                 "--services.notifications.url=" + notifications.url(),
+                                 "--nutrition.notifications.outbox.poll-interval=100",
+                                 "--nutrition.notifications.outbox.lease=5s")) {
+                int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+                seed(port);
+
+                var result = new LoadDriver()
+                        .operation("POST create", 30, () -> post(port, "/api/v1/food-entries", foodEntryJson(random(100_000))))
+                        .operation("GET by resident", 50, () -> get(port, "/api/v1/food-entries/resident/" + random(RESIDENTS) + "?limit=50"))
+                        .operation("GET by date", 20, () -> get(port, "/api/v1/food-entries/date/" + randomDay() + "?limit=50"))
+                        .run(concurrency, warmup, duration);
+                report.append(virtualThreads ? "Virtual threads" : "Platform threads").append(System.lineSeparator())
+                        .append(result.format()).append(System.lineSeparator());
+                assertEquals(0, result.errors("GET by resident"));
+            }
+        }
+
+        System.out.print(report);
+        Files.writeString(Path.of("target", "virtual-thread-report.txt"), report);
+    }
+
+    private static void seed(int port) throws Exception {
+        var response = HttpClient.newHttpClient().send(post(port, "/api/v1/food-entries/batch", foodEntriesJson(0, 1_000)),
+                HttpResponse.BodyHandlers.discarding());
+        assertEquals(201, response.statusCode());
+    }
+}
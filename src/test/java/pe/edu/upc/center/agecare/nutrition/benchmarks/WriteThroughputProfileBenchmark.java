@@ -0,0 +1,141 @@
+package pe.edu.upc.center.agecare.nutrition.benchmarks;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pe.edu.upc.center.agecare.AgecareCenterPlatformApplication;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntriesCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntryCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryCommandService;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Compares startup time and food entry insert throughput with the untuned settings (Hibernate schema update,
+ * no JDBC batching, default pool) against the write-throughput settings (no schema introspection, batched and
+ * ordered inserts, a sized pool). Each variant is started once to set up its schema and the second start is
+ * reported, which is what a redeploy sees. The variants alternate over {@code -Dbenchmark.rounds} rounds.
+ * Run with {@code mvn test -Pbenchmark -Dtest=WriteThroughputProfileBenchmark}. By default this uses H2, where
+ * the migrations and the MySQL driver settings of the prod profile do not apply, so Hibernate creates the schema
+ * instead; point it at an empty MySQL database with {@code -Dbenchmark.jdbcUrl}, {@code -Dbenchmark.username}
+ * and {@code -Dbenchmark.password} to include them.
+ */
+@Tag("benchmark")
+class WriteThroughputProfileBenchmark {
+
+    private static final String JDBC_URL = System.getProperty("benchmark.jdbcUrl");
+
+    @Test
+    void startupAndInsertThroughputBeforeAndAfter() throws Exception {
+        int entries = Integer.getInteger("benchmark.entries", 20_000);
+        int writers = Integer.getInteger("benchmark.writers", 8);
+        int rounds = Integer.getInteger("benchmark.rounds", 3);
+
+        // Both variants run in alternating rounds and only the last round is reported, so JIT warm-up of the
+        // insert path is not charged to whichever variant happens to go first. Tuned goes first in each round:
+        // on a shared MySQL database Flyway has to create the schema the untuned run then updates.
+        Result before = null;
+        Result after = null;
+        for (int round = 0; round < rounds; round++) {
+            after = run("tuned", entries, writers,
+                    "spring.jpa.hibernate.ddl-auto=none",
+                    "spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false",
+                    "spring.jpa.properties.hibernate.query.plan_cache_max_size=4096",
+                    "spring.datasource.hikari.maximum-pool-size=20",
+                    "spring.datasource.hikari.minimum-idle=20");
+            before = run("untuned", entries, writers,
+                    "spring.jpa.hibernate.ddl-auto=update",
+                    "spring.jpa.properties.hibernate.jdbc.batch_size=1",
+                    "spring.jpa.properties.hibernate.order_inserts=false",
+                    "spring.jpa.properties.hibernate.order_updates=false");
+        }
+
+        System.out.printf("Write throughput profile: %d entries from %d writers in batches of 100 (%s)%n",
+                entries, writers, JDBC_URL != null ? JDBC_URL : "embedded H2");
+        System.out.printf("  %-10s %14s %14s%n", "variant", "start (ms)", "inserts/s");
+        for (var result : List.of(before, after)) {
+            System.out.printf("  %-10s %14.0f %14.0f%n", result.name(), result.startMillis(), result.insertsPerSecond());
+        }
+    }
+
+    private Result run(String name, int entries, int writers, String... settings) throws Exception {
+        var database = "throughput_" + name;
+        if (JDBC_URL != null) {
+            start(database, settings).close();
+        } else {
+            start(database, "spring.jpa.hibernate.ddl-auto=create").close();
+        }
+        long start = System.nanoTime();
+        try (var context = start(database, settings)) {
+            double startMillis = (System.nanoTime() - start) / 1e6;
+            insert(context, 1_000, writers);
+            context.getBean(JdbcTemplate.class).update("delete from food_entries");
+
+            start = System.nanoTime();
+            insert(context, entries, writers);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            return new Result(name, startMillis, entries / seconds);
+        }
+    }
+
+    // Settings go in as command-line arguments so they take precedence over application.properties
+    private ConfigurableApplicationContext start(String database, String... settings) {
+        List<String> arguments = new ArrayList<>();
+        for (var setting : settings) {
+            arguments.add("--" + setting);
+        }
+        arguments.add("--spring.main.web-application-type=none");
+        arguments.add("--nutrition.missed-meals.enabled=false");
+        if (JDBC_URL != null) {
+            boolean tuned = arguments.contains("--spring.jpa.hibernate.ddl-auto=none");
+            arguments.add("--spring.flyway.enabled=" + tuned);
+            arguments.add("--spring.datasource.url=" + JDBC_URL);
+            arguments.add("--spring.datasource.username=" + System.getProperty("benchmark.username", "root"));
+            arguments.add("--spring.datasource.password=" + System.getProperty("benchmark.password", ""));
+            return new SpringApplicationBuilder(AgecareCenterPlatformApplication.class)
+                    .profiles(tuned ? "prod" : "default")
+                    .run(arguments.toArray(String[]::new));
+        }
+        arguments.add("--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        return new SpringApplicationBuilder(AgecareCenterPlatformApplication.class)
+                .profiles("embedded")
+                .run(arguments.toArray(String[]::new));
+    }
+
+    private static void insert(ConfigurableApplicationContext context, int entries, int writers) throws Exception {
+        var commandService = context.getBean(FoodEntryCommandService.class);
+        var next = new AtomicInteger();
+        try (var executor = Executors.newFixedThreadPool(writers)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                futures.add(executor.submit(() -> {
+                    int from;
+                    while ((from = next.getAndAdd(100)) < entries) {
+                        int first = from;
+                        commandService.handle(new CreateFoodEntriesCommand(IntStream.range(first, Math.min(entries, first + 100))
+                                .mapToObj(i -> new CreateFoodEntryCommand(MealType.values()[i % 3], "Benchmark meal " + i,
+                                        LocalDate.of(2024, 1, 1).plusDays(i % 365), LocalTime.of(12, 30),
+                                        "Benchmark", (long) (i % 50), (long) (i % 1_000)))
+                                .toList()));
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private record Result(String name, double startMillis, double insertsPerSecond) {
+    }
+}
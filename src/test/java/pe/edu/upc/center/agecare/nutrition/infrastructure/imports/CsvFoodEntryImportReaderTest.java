@@ -0,0 +1,102 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.imports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Reads CSV text straight from strings, covering the quoting, line counting and malformed input the import
+ * reports line by line.
+ */
+class CsvFoodEntryImportReaderTest {
+
+    private static final String HEADER = "meal,description,date,time,added_by,added_by_id,resident_id\n";
+
+    @Test
+    void readsQuotedFieldsSpanningLines() throws IOException {
+        var records = read(HEADER
+                + "LUNCH,\"Rice, beans and \"\"fresh\"\" salad\",2024-05-01,12:30,Nurse,1,7\n"
+                + "DINNER,\"Soup\nwith bread\",2024-05-01,19:00,Nurse,1,7\n"
+                + "BREAKFAST,Oatmeal,2024-05-02,08:00,Nurse,1,7\n");
+
+        assertEquals(3, records.size());
+        assertEquals(new FoodEntryImportRecord(2, "LUNCH", "Rice, beans and \"fresh\" salad", "2024-05-01", "12:30",
+                "Nurse", "1", "7", null), records.get(0));
+        assertEquals("Soup\nwith bread", records.get(1).description());
+        assertEquals(3, records.get(1).line());
+        assertEquals(5, records.get(2).line());
+    }
+
+    @Test
+    void mapsColumnsByHeaderInAnyOrderAndIgnoresOthers() throws IOException {
+        var records = read("id,resident_id,time,date,description,meal\r\n"
+                + "42,7,12:30,2024-05-01,Rice,LUNCH\r\n");
+
+        assertEquals(new FoodEntryImportRecord(2, "LUNCH", "Rice", "2024-05-01", "12:30", null, null, "7", null),
+                records.get(0));
+    }
+
+    @Test
+    void stripsAByteOrderMarkFromTheHeader() throws IOException {
+        var records = read("\uFEFF" + HEADER + "LUNCH,Rice,2024-05-01,12:30,Nurse,1,7\n");
+
+        assertEquals("LUNCH", records.get(0).meal());
+    }
+
+    @Test
+    void skipsBlankLinesAndReadsALastLineWithoutNewline() throws IOException {
+        var records = read(HEADER + "\nLUNCH,Rice,2024-05-01,12:30,Nurse,1,7\n\n"
+                + "DINNER,Soup,2024-05-01,19:00,Nurse,1,7");
+
+        assertEquals(2, records.size());
+        assertEquals(3, records.get(0).line());
+        assertEquals(5, records.get(1).line());
+    }
+
+    @Test
+    void reportsRowsWithTheWrongNumberOfFields() throws IOException {
+        var records = read(HEADER + "LUNCH,Rice\n"
+                + "LUNCH,Rice,2024-05-01,12:30,Nurse,1,7,extra\n"
+                + "DINNER,Soup,2024-05-01,19:00,Nurse,1,7\n");
+
+        assertEquals(FoodEntryImportRecord.unreadable(2, "expected 7 fields but found 2"), records.get(0));
+        assertEquals(FoodEntryImportRecord.unreadable(3, "expected 7 fields but found 8"), records.get(1));
+        assertNull(records.get(2).error());
+    }
+
+    @Test
+    void reportsAQuoteLeftOpenUntilTheEndOfTheFile() throws IOException {
+        var records = read(HEADER + "LUNCH,Rice,2024-05-01,12:30,Nurse,1,7\n"
+                + "DINNER,\"Soup,2024-05-01,19:00,Nurse,1,7\n"
+                + "BREAKFAST,Oatmeal,2024-05-02,08:00,Nurse,1,7\n");
+
+        assertEquals(2, records.size());
+        assertEquals(FoodEntryImportRecord.unreadable(3, "quoted field is not closed before the end of the file"),
+                records.get(1));
+    }
+
+    @Test
+    void rejectsAHeaderMissingARequiredColumn() {
+        var error = assertThrows(IllegalArgumentException.class,
+                () -> new CsvFoodEntryImportReader(new StringReader("meal,description,resident_id\n")));
+
+        assertEquals("The CSV header has no date, time column", error.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> new CsvFoodEntryImportReader(new StringReader("")));
+    }
+
+    private static List<FoodEntryImportRecord> read(String csv) throws IOException {
+        var reader = new CsvFoodEntryImportReader(new StringReader(csv));
+        List<FoodEntryImportRecord> records = new ArrayList<>();
+        for (var record = reader.next(); record != null; record = reader.next()) {
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,45 @@
+package pe.edu.upc.center.agecare.nutrition.infrastructure.persistence.jpa.repositories;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the boolean-mode search string built from free text, which never reaches a database here.
+ */
+class FoodEntryRepositoryImplTest {
+
+    @Test
+    void requiresEveryWordAsAPrefix() {
+        assertEquals("+rice* +soup*", FoodEntryRepositoryImpl.booleanModeTerms("rice soup"));
+        assertEquals("+rice* +soup*", FoodEntryRepositoryImpl.booleanModeTerms("  rice \t soup\n"));
+    }
+
+    @Test
+    void dropsBooleanModeOperators() {
+        assertEquals("+rice* +beans* +soup* +tea* +salt* +chicken*",
+                FoodEntryRepositoryImpl.booleanModeTerms("+rice -beans <soup> (tea) ~salt* \"chicken\" @3"));
+        assertEquals("+puré* +papa*", FoodEntryRepositoryImpl.booleanModeTerms("puré de papa*"));
+    }
+
+    @Test
+    void turnsHyphenatedWordsIntoPhrases() {
+        assertEquals("+\"lactose free\" +milk*", FoodEntryRepositoryImpl.booleanModeTerms("lactose-free milk"));
+        assertEquals("+\"low sodium broth\"", FoodEntryRepositoryImpl.booleanModeTerms("low-sodium-broth"));
+    }
+
+    @Test
+    void skipsWordsShorterThanTheIndexedTokenSize() {
+        assertEquals("+egg*", FoodEntryRepositoryImpl.booleanModeTerms("an egg"));
+        assertEquals("+mail*", FoodEntryRepositoryImpl.booleanModeTerms("e-mail"));
+        assertEquals("+\"sin sal\"", FoodEntryRepositoryImpl.booleanModeTerms("sin-sal"));
+    }
+
+    @Test
+    void yieldsNothingWhenNoWordIsLeft() {
+        assertEquals("", FoodEntryRepositoryImpl.booleanModeTerms(""));
+        assertEquals("", FoodEntryRepositoryImpl.booleanModeTerms("   "));
+        assertEquals("", FoodEntryRepositoryImpl.booleanModeTerms("a an of-it"));
+        assertEquals("", FoodEntryRepositoryImpl.booleanModeTerms("+-<>()~*\"@"));
+    }
+}
@@ -0,0 +1,174 @@
+package pe.edu.upc.center.agecare.nutrition.interfaces.rest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.ImportFoodEntriesCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.FoodEntryImportFormat;
+import pe.edu.upc.center.agecare.nutrition.domain.services.FoodEntryImportCommandService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Posts CSV and NDJSON files to the import endpoint over the embedded database, in chunks of two so every file
+ * spans several, and checks the counts, the rejected lines and that a second import is refused while one runs.
+ */
+@ActiveProfiles("embedded")
+@SpringBootTest
+@AutoConfigureMockMvc
+class FoodEntryImportHarnessTest {
+
+    private static final String HEADER = "meal,description,date,time,added_by,added_by_id,resident_id\n";
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("nutrition.import.chunk-size", () -> "2");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FoodEntryImportCommandService foodEntryImportCommandService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importsCsvAndReportsRejectedLines() throws Exception {
+        var csv = HEADER
+                + "LUNCH,\"Rice, beans and \"\"fresh\"\" salad\",2024-05-01,12:30,Nurse,1,501\n"
+                + "DINNER,\"Soup\nwith bread\",2024-05-01,19:00,Nurse,1,501\n"
+                + "SNACK,Cookies,2024-05-01,16:00,Nurse,1,501\n"
+                + "LUNCH,Rice,2024-13-01,12:30,Nurse,1,501\n"
+                + "LUNCH,Rice,2024-05-01,25:00,Nurse,1,501\n"
+                + "LUNCH,Rice\n";
+
+        mockMvc.perform(post("/api/v1/food-entries/imports").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.read").value(6))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(4))
+                .andExpect(jsonPath("$.rejections[0].line").value(5))
+                .andExpect(jsonPath("$.rejections[0].reason").value(startsWith("meal must be one of")))
+                .andExpect(jsonPath("$.rejections[1].line").value(6))
+                .andExpect(jsonPath("$.rejections[1].reason").value(startsWith("date must be")))
+                .andExpect(jsonPath("$.rejections[2].line").value(7))
+                .andExpect(jsonPath("$.rejections[2].reason").value(startsWith("time must be")))
+                .andExpect(jsonPath("$.rejections[3].line").value(8))
+                .andExpect(jsonPath("$.rejections[3].reason").value("expected 7 fields but found 2"));
+
+        assertEquals(2, entriesOfResident(501));
+    }
+
+    @Test
+    void importsNdjsonAndReportsRejectedLines() throws Exception {
+        var ndjson = """
+                {"meal":"BREAKFAST","description":"Oatmeal","date":"2024-05-01","time":"08:00","addedBy":"Nurse","addedById":1,"residentId":502}
+                {"meal":"lunch","description":"Rice","date":"2024-05-01","time":"12:30:15","addedBy":"Nurse","addedById":1,"residentId":502}
+
+                {"meal":"BRUNCH","description":"Eggs","date":"2024-05-01","time":"10:00","addedBy":"Nurse","addedById":1,"residentId":502}
+                {"meal":"DINNER","description":"Soup","date":"01/05/2024","time":"19:00","addedBy":"Nurse","addedById":1,"residentId":502}
+                {"meal":"DINNER","description":"Soup","date":"2024-05-01","time":"noon","addedBy":"Nurse","addedById":1,"residentId":502}
+                {"meal":
+                """;
+
+        mockMvc.perform(post("/api/v1/food-entries/imports").contentType("application/x-ndjson").content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.read").value(6))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(4))
+                .andExpect(jsonPath("$.rejections[0].line").value(4))
+                .andExpect(jsonPath("$.rejections[0].reason").value(startsWith("meal must be one of")))
+                .andExpect(jsonPath("$.rejections[1].line").value(5))
+                .andExpect(jsonPath("$.rejections[1].reason").value(startsWith("date must be")))
+                .andExpect(jsonPath("$.rejections[2].line").value(6))
+                .andExpect(jsonPath("$.rejections[2].reason").value(startsWith("time must be")))
+                .andExpect(jsonPath("$.rejections[3].line").value(7))
+                .andExpect(jsonPath("$.rejections[3].reason").value(startsWith("line is not valid JSON")));
+
+        assertEquals(2, entriesOfResident(502));
+    }
+
+    @Test
+    void refusesASecondImportWhileOneIsRunning() throws Exception {
+        var reading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var running = CompletableFuture.supplyAsync(() -> foodEntryImportCommandService.handle(new ImportFoodEntriesCommand(
+                FoodEntryImportFormat.CSV, new HeldInputStream(HEADER + "LUNCH,Rice,2024-05-01,12:30,Nurse,1,503\n",
+                        reading, release))));
+        assertTrue(reading.await(10, TimeUnit.SECONDS));
+
+        mockMvc.perform(post("/api/v1/food-entries/imports").contentType("text/csv")
+                        .content(HEADER + "LUNCH,Rice,2024-05-01,12:30,Nurse,1,503\n"))
+                .andExpect(status().isConflict());
+
+        release.countDown();
+        assertEquals(1, running.get(10, TimeUnit.SECONDS).orElseThrow().imported());
+        mockMvc.perform(post("/api/v1/food-entries/imports").contentType("text/csv")
+                        .content(HEADER + "LUNCH,Rice,2024-05-01,12:30,Nurse,1,503\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+        assertEquals(2, entriesOfResident(503));
+    }
+
+    private int entriesOfResident(long residentId) {
+        return jdbcTemplate.queryForObject("select count(*) from food_entries where resident_id = ?", Integer.class,
+                residentId);
+    }
+
+    // An upload still arriving: the first read signals that the import has started and waits for the rest
+    private static class HeldInputStream extends InputStream {
+        private final InputStream content;
+        private final CountDownLatch reading;
+        private final CountDownLatch release;
+
+        HeldInputStream(String content, CountDownLatch reading, CountDownLatch release) {
+            this.content = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+            this.reading = reading;
+            this.release = release;
+        }
+
+        @Override
+        public int read() throws IOException {
+            await();
+            return content.read();
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            await();
+            return content.read(bytes, offset, length);
+        }
+
+        private void await() throws IOException {
+            reading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package pe.edu.upc.center.agecare.nutrition.support;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * HTTP requests and JSON bodies for driving the food entry API of a service on a local port. Generated entry
+ * {@code i} rotates through the meals, {@value #RESIDENTS} residents and {@value #DAYS} days from {@link #FIRST_DAY},
+ * so random residents and days picked here hit the seeded data.
+ */
+public class FoodEntryRequests {
+
+    public static final int RESIDENTS = 500;
+    public static final int DAYS = 120;
+    public static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    public static HttpRequest get(int port, String path) {
+        return HttpRequest.newBuilder(uri(port, path)).GET().build();
+    }
+
+    public static HttpRequest post(int port, String path, String json) {
+        return HttpRequest.newBuilder(uri(port, path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    public static HttpRequest put(int port, String path, String json) {
+        return HttpRequest.newBuilder(uri(port, path))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    public static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    public static LocalDate randomDay() {
+        return FIRST_DAY.plusDays(random(DAYS));
+    }
+
+    public static String foodEntryJson(int i) {
+        return """
+                {"meal":"%s","description":"Benchmark meal %d","date":"%s","time":"12:30",\
+                "addedBy":"Benchmark","addedById":%d,"residentId":%d}""".formatted(
+                new String[]{"BREAKFAST", "LUNCH", "DINNER"}[i % 3], i, FIRST_DAY.plusDays(i % DAYS), i % 50, i % RESIDENTS);
+    }
+
+    // A JSON array of the generated entries from the first index up to, not including, the last, for the batch endpoint
+    public static String foodEntriesJson(int from, int to) {
+        var body = new StringJoiner(",", "[", "]");
+        for (int i = from; i < to; i++) {
+            body.add(foodEntryJson(i));
+        }
+        return body.toString();
+    }
+
+    private static URI uri(int port, String path) {
+        return URI.create("http://127.0.0.1:" + port + path);
+    }
+}
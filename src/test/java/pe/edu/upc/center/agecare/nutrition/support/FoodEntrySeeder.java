@@ -0,0 +1,48 @@
+package pe.edu.upc.center.agecare.nutrition.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import pe.edu.upc.center.agecare.nutrition.domain.model.commands.CreateFoodEntryCommand;
+import pe.edu.upc.center.agecare.nutrition.domain.model.valueobjects.MealType;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Writes generated food entries straight into food_entries with JDBC batches, for benchmarks that need far more
+ * rows than the command service would write in reasonable time. Entry {@code i} gets id {@code i + 1}, so the
+ * table has to start empty.
+ */
+public class FoodEntrySeeder {
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final String INSERT = "insert into food_entries (id, meal, description, date, time, added_by, "
+            + "added_by_id, resident_id, version, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    public static void seed(JdbcTemplate jdbcTemplate, int rows, IntFunction<CreateFoodEntryCommand> entry) {
+        var now = new Timestamp(System.currentTimeMillis());
+        for (int from = 0; from < rows; from += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = from; i < Math.min(rows, from + BATCH_SIZE); i++) {
+                var command = entry.apply(i);
+                batch.add(new Object[]{(long) i + 1, command.meal().name(), command.description(),
+                        Date.valueOf(command.date()), Time.valueOf(command.time()), command.addedBy(),
+                        command.addedById(), command.residentId(), now, now});
+            }
+            jdbcTemplate.batchUpdate(INSERT, batch);
+        }
+    }
+
+    // Breakfast, lunch and dinner in turn, each within its own hour of the day
+    public static CreateFoodEntryCommand entry(int i, String description, LocalDate date, String addedBy,
+                                               long addedById, long residentId) {
+        var meal = MealType.values()[i % 3];
+        return new CreateFoodEntryCommand(meal, description, date, LocalTime.of(7 + meal.ordinal() * 5, i % 60),
+                addedBy, addedById, residentId);
+    }
+}
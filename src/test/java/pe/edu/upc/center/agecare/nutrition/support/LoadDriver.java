@@ -0,0 +1,198 @@
+package pe.edu.upc.center.agecare.nutrition.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load generator. Each of {@code concurrency} workers repeatedly picks an operation by
+ * weight, sends it and records the latency; samples from the warm-up period are discarded.
+ */
+public class LoadDriver {
+
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private int totalWeight;
+
+    public LoadDriver operation(String name, int weight, Supplier<HttpRequest> request) {
+        return operation(name, weight, request, response -> { });
+    }
+
+    // onSuccess sees every 2xx response body, e.g. to remember created ids for later updates
+    public LoadDriver operation(String name, int weight, Supplier<HttpRequest> request, Consumer<String> onSuccess) {
+        operations.put(name, new Operation(name, weight, request, onSuccess));
+        totalWeight += weight;
+        return this;
+    }
+
+    public Report run(int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        Map<String, Samples> samples = new LinkedHashMap<>();
+        operations.keySet().forEach(name -> samples.put(name, new Samples()));
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        try (var workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        var operation = pick();
+                        long sent = System.nanoTime();
+                        boolean ok = send(operation);
+                        long received = System.nanoTime();
+                        if (sent >= measureFrom) {
+                            samples.get(operation.name()).record(received - sent, ok);
+                        }
+                    }
+                });
+            }
+        }
+        return new Report(concurrency, duration, samples);
+    }
+
+    private Operation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (var operation : operations.values()) {
+            roll -= operation.weight();
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("No operations registered");
+    }
+
+    private boolean send(Operation operation) {
+        try {
+            var response = httpClient.send(operation.request().get(), HttpResponse.BodyHandlers.ofString());
+            boolean ok = response.statusCode() / 100 == 2;
+            if (ok) {
+                operation.onSuccess().accept(response.body());
+            }
+            return ok;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record Operation(String name, int weight, Supplier<HttpRequest> request, Consumer<String> onSuccess) {
+    }
+
+    private static final class Samples {
+        private final List<Long> latencies = new ArrayList<>();
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void record(long nanos, boolean ok) {
+            latencies.add(nanos);
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+
+        synchronized long[] sorted() {
+            return latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+    }
+
+    public static final class Report {
+        // Upper bounds of the histogram buckets in milliseconds
+        private static final double[] BUCKETS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+        private final int concurrency;
+        private final Duration duration;
+        private final Map<String, long[]> latencies = new LinkedHashMap<>();
+        private final Map<String, Long> errors = new LinkedHashMap<>();
+
+        private Report(int concurrency, Duration duration, Map<String, Samples> samples) {
+            this.concurrency = concurrency;
+            this.duration = duration;
+            samples.forEach((name, operationSamples) -> {
+                latencies.put(name, operationSamples.sorted());
+                errors.put(name, operationSamples.errors.get());
+            });
+        }
+
+        public long requests(String operation) {
+            return latencies.get(operation).length;
+        }
+
+        public long errors(String operation) {
+            return errors.get(operation);
+        }
+
+        public double percentileMillis(String operation, double percentile) {
+            var sorted = latencies.get(operation);
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+
+        public String format() {
+            var out = new StringBuilder();
+            double seconds = duration.toMillis() / 1000.0;
+            out.append(String.format("Load test: %d concurrent clients for %.0fs%n", concurrency, seconds));
+            out.append(String.format("  %-22s %9s %8s %9s %9s %9s %9s %9s%n",
+                    "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+            long total = 0;
+            for (var operation : latencies.keySet()) {
+                total += requests(operation);
+                out.append(String.format("  %-22s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                        operation, requests(operation), errors(operation), requests(operation) / seconds,
+                        percentileMillis(operation, 50), percentileMillis(operation, 90),
+                        percentileMillis(operation, 99), percentileMillis(operation, 100)));
+            }
+            out.append(String.format("  %-22s %9d %8s %9.1f%n", "total", total, "", total / seconds));
+
+            out.append(String.format("%nLatency histogram (share of requests per bucket)%n"));
+            out.append(String.format("  %-22s", "operation"));
+            for (double bucket : BUCKETS) {
+                out.append(String.format(" %7s", "<=" + (int) bucket));
+            }
+            out.append(String.format(" %7s%n", ">" + (int) BUCKETS[BUCKETS.length - 1]));
+            latencies.forEach((operation, sorted) -> {
+                out.append(String.format("  %-22s", operation));
+                long[] counts = new long[BUCKETS.length + 1];
+                for (long nanos : sorted) {
+                    int bucket = Arrays.binarySearch(BUCKETS, nanos / 1e6);
+                    counts[bucket >= 0 ? bucket : Math.min(-bucket - 1, BUCKETS.length)]++;
+                }
+                for (long count : counts) {
+                    out.append(String.format(" %6.1f%%", sorted.length == 0 ? 0.0 : 100.0 * count / sorted.length));
+                }
+                out.append(System.lineSeparator());
+            });
+            return out.toString();
+        }
+
+        public void writeTo(Path path) {
+            try {
+                Files.createDirectories(path.getParent());
+                Files.writeString(path, format());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package pe.edu.upc.center.agecare.nutrition.support;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Clock that only moves when a test sets it.
+ */
+public class MutableClock extends Clock {
+
+    private volatile Instant instant;
+    private final ZoneId zone;
+
+    public MutableClock(LocalDateTime dateTime) {
+        this(dateTime.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    }
+
+    private MutableClock(Instant instant, ZoneId zone) {
+        this.instant = instant;
+        this.zone = zone;
+    }
+
+    public void set(LocalDateTime dateTime) {
+        this.instant = dateTime.atZone(zone).toInstant();
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new MutableClock(instant, zone);
+    }
+
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+}
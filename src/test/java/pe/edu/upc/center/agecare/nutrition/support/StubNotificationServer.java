@@ -0,0 +1,106 @@
+package pe.edu.upc.center.agecare.nutrition.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the notifications service. Accepts {@code POST /api/v1/notifications},
+ * optionally delaying or failing a share of the requests.
+ */
+public class StubNotificationServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile double failureRate = 0.0;
+    private volatile boolean recordBodies = false;
+
+    public StubNotificationServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Platform threads: HttpServer reads request bodies while holding a monitor, which would pin the
+        // carrier that the service's own virtual threads need to finish writing those bodies
+        server.setExecutor(Executors.newCachedThreadPool(Thread.ofPlatform().daemon().name("notifications-stub-", 0).factory()));
+        server.createContext("/api/v1/notifications", this::handle);
+        server.start();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public StubNotificationServer withLatency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    public StubNotificationServer withFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+        return this;
+    }
+
+    public StubNotificationServer recordingBodies() {
+        this.recordBodies = true;
+        return this;
+    }
+
+    public long received() {
+        return received.get();
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+
+    public List<String> bodies() {
+        return bodies;
+    }
+
+    public void reset() {
+        received.set(0);
+        rejected.set(0);
+        bodies.clear();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            var body = new String(exchange.getRequestBody().readAllBytes());
+            if (!latency.isZero()) {
+                Thread.sleep(latency);
+            }
+            if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+                rejected.incrementAndGet();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            if (recordBodies) {
+                bodies.add(body);
+            }
+            received.incrementAndGet();
+            exchange.sendResponseHeaders(201, -1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,157 @@
+package pe.edu.upc.center.agecare.shared.infrastructure.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Holds a leader's supplier on a latch until the other callers have joined its flight, so every test sees a
+ * flight that is still under way.
+ */
+class SingleFlightTest {
+
+    private static final int WAITERS = 8;
+
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void waitersShareTheLeadersResult() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var result = new Object();
+        var leader = executor.submit(() -> singleFlight.execute("today", held(started, release, () -> result)));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        var waiters = joinWaiters("today", WAITERS);
+        release.countDown();
+
+        assertSame(result, leader.get(10, TimeUnit.SECONDS));
+        for (var waiter : waiters) {
+            assertSame(result, waiter.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, singleFlight.executed());
+        assertEquals(WAITERS, singleFlight.coalesced());
+    }
+
+    @Test
+    void waitersGetTheLeadersException() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var failure = new IllegalStateException("database unavailable");
+        var leader = executor.submit(() -> singleFlight.execute("today", held(started, release, () -> {
+            throw failure;
+        })));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        var waiters = joinWaiters("today", WAITERS);
+        release.countDown();
+
+        assertSame(failure, assertThrows(ExecutionException.class, () -> leader.get(10, TimeUnit.SECONDS)).getCause());
+        for (var waiter : waiters) {
+            assertSame(failure, assertThrows(ExecutionException.class, () -> waiter.get(10, TimeUnit.SECONDS)).getCause());
+        }
+        assertEquals(1, singleFlight.executed());
+    }
+
+    @Test
+    void forgottenFlightsAreNotJoined() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var stale = new Object();
+        var leader = executor.submit(() -> singleFlight.execute("today", held(started, release, () -> stale)));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        var waiters = joinWaiters("today", WAITERS);
+
+        singleFlight.forget("today"::equals);
+        var fresh = new Object();
+        assertSame(fresh, singleFlight.execute("today", () -> fresh));
+        release.countDown();
+
+        // Callers that joined before the forget still share the flight they joined
+        assertSame(stale, leader.get(10, TimeUnit.SECONDS));
+        for (var waiter : waiters) {
+            assertSame(stale, waiter.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(2, singleFlight.executed());
+    }
+
+    @Test
+    void forgetOnlyDropsMatchingKeys() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var result = new Object();
+        var leader = executor.submit(() -> singleFlight.execute("today", held(started, release, () -> result)));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        singleFlight.forget("yesterday"::equals);
+        var waiters = joinWaiters("today", 1);
+        release.countDown();
+
+        assertSame(result, leader.get(10, TimeUnit.SECONDS));
+        assertSame(result, waiters.get(0).get(10, TimeUnit.SECONDS));
+        assertEquals(1, singleFlight.executed());
+    }
+
+    @Test
+    void landedFlightsAreNotKept() {
+        assertEquals("first", singleFlight.execute("today", () -> "first"));
+        assertEquals("second", singleFlight.execute("today", () -> "second"));
+        assertEquals(2, singleFlight.executed());
+        assertEquals(0, singleFlight.coalesced());
+    }
+
+    private static Supplier<Object> held(CountDownLatch started, CountDownLatch release, Supplier<Object> supplier) {
+        return () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return supplier.get();
+        };
+    }
+
+    // Returns once every waiter has joined the flight, which the coalesced count only shows after they have
+    private List<Future<Object>> joinWaiters(String key, int count) throws InterruptedException {
+        long coalescedBefore = singleFlight.coalesced();
+        List<Future<Object>> waiters = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            waiters.add(executor.submit(() -> singleFlight.execute(key, () -> {
+                throw new AssertionError("A waiter ran its own supplier");
+            })));
+        }
+        awaitAtLeast(() -> singleFlight.coalesced() - coalescedBefore, count);
+        return waiters;
+    }
+
+    private static void awaitAtLeast(LongSupplier value, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (value.getAsLong() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for callers to join");
+            Thread.sleep(1);
+        }
+    }
+}